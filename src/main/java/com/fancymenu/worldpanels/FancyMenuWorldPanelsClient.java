@@ -3,6 +3,9 @@ package com.fancymenu.worldpanels;
 import com.fancymenu.worldpanels.elements.WorldCardElementBuilder;
 import com.fancymenu.worldpanels.exporters.WorldDataExporter;
 import com.fancymenu.worldpanels.managers.WorldDataManager;
+import com.fancymenu.worldpanels.managers.WorldHistoryManager;
+import com.fancymenu.worldpanels.placeholders.WorldPanelsPlaceholder;
+import com.fancymenu.worldpanels.template.PlaceholderProcessor;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -31,16 +34,20 @@ public class FancyMenuWorldPanelsClient implements ClientModInitializer {
             // Initialize core managers first
             WorldDataManager.initialize();
             WorldDataExporter.initialize();
+            WorldHistoryManager.initialize();
             
             // Try to register world card element with FancyMenu
             registerWorldCardElement();
             
+            // Register the world placeholders with FancyMenu
+            registerPlaceholders();
+            
             // Register client lifecycle events
             ClientLifecycleEvents.CLIENT_STARTED.register(this::onClientStarted);
             ClientLifecycleEvents.CLIENT_STOPPING.register(this::onClientStopping);
             
-            // Register tick events for periodic updates
-            ClientTickEvents.END_CLIENT_TICK.register(this::onClientTick);
+            // Expire relative-time placeholder texts at their minute/hour/day boundaries
+            ClientTickEvents.END_CLIENT_TICK.register(client -> PlaceholderProcessor.onClientTick());
             
             initialized = true;
             LOGGER.info("FancyMenu World Panels initialized successfully!");
@@ -218,6 +225,24 @@ public class FancyMenuWorldPanelsClient implements ClientModInitializer {
         }
     }
     
+    /**
+     * Register the native world placeholders with FancyMenu's placeholder registry
+     */
+    private void registerPlaceholders() {
+        try {
+            // Check if FancyMenu is available
+            Class.forName("de.keksuccino.fancymenu.customization.placeholder.PlaceholderRegistry");
+            
+            WorldPanelsPlaceholder.registerAll();
+            LOGGER.info("✅ Registered World Panels placeholders");
+            
+        } catch (ClassNotFoundException e) {
+            LOGGER.info("FancyMenu not detected - world placeholders are not registered");
+        } catch (Exception | LinkageError e) {
+            LOGGER.warn("Failed to register world placeholders with FancyMenu: {}", e.getMessage());
+        }
+    }
+    
     private void onClientStarted(MinecraftClient client) {
         LOGGER.info("Client started - updating world data");
         updateWorldData();
@@ -233,6 +258,9 @@ public class FancyMenuWorldPanelsClient implements ClientModInitializer {
             if (WorldDataExporter.getInstance().isInitialized()) {
                 WorldDataExporter.getInstance().shutdown();
             }
+            if (WorldHistoryManager.getInstance().isInitialized()) {
+                WorldHistoryManager.getInstance().shutdown();
+            }
             if (WorldDataManager.getInstance().isInitialized()) {
                 WorldDataManager.getInstance().shutdown();
             }
@@ -241,19 +269,6 @@ public class FancyMenuWorldPanelsClient implements ClientModInitializer {
         }
     }
     
-    private int tickCounter = 0;
-    private static final int UPDATE_INTERVAL = 100; // Update every 5 seconds (20 ticks/sec)
-    
-    private void onClientTick(MinecraftClient client) {
-        if (!initialized) return;
-        
-        tickCounter++;
-        if (tickCounter >= UPDATE_INTERVAL) {
-            updateWorldData();
-            tickCounter = 0;
-        }
-    }
-    
     /**
      * Update world data and export JSON files
      */
@@ -264,12 +279,12 @@ public class FancyMenuWorldPanelsClient implements ClientModInitializer {
                 WorldDataManager.getInstance().refreshWorlds();
             }
             
-            // Force export
+            // Request an export (runs on the exporter's export thread)
             if (WorldDataExporter.getInstance().isInitialized()) {
                 WorldDataExporter.getInstance().forceExport();
             }
             
-            LOGGER.debug("World data updated and exported successfully");
+            LOGGER.debug("World data updated and export requested");
             
         } catch (Exception e) {
             LOGGER.error("Failed to update world data", e);
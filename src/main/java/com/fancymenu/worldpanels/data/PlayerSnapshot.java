@@ -0,0 +1,107 @@
+package com.fancymenu.worldpanels.data;
+
+import com.fancymenu.worldpanels.utils.FormatUtils;
+
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the singleplayer player's state when the world was last saved.
+ *
+ * Read from Data.Player in level.dat, or from the most recently saved
+ * playerdata/&lt;uuid&gt;.dat for worlds without an embedded player (LAN / opened to server).
+ * Extraction is opt-in, see {@link com.fancymenu.worldpanels.managers.WorldDataManager#requestPlayerData()}.
+ */
+public class PlayerSnapshot {
+
+    public static final PlayerSnapshot EMPTY = new PlayerSnapshot(null, 0, 0, 0, 0, 0, 0, null, 0);
+
+    private final String dimension;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float health;
+    private final int foodLevel;
+    private final int xpLevel;
+    private final String selectedItem;
+    private final int selectedItemCount;
+
+    /**
+     * @param dimension Dimension registry key (e.g. "minecraft:the_nether"), null if unknown
+     * @param selectedItem Item id in the selected hotbar slot (e.g. "minecraft:diamond_sword"), null if empty
+     */
+    public PlayerSnapshot(String dimension, double x, double y, double z, float health, int foodLevel,
+                          int xpLevel, String selectedItem, int selectedItemCount) {
+        this.dimension = dimension;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.health = health;
+        this.foodLevel = foodLevel;
+        this.xpLevel = xpLevel;
+        this.selectedItem = selectedItem;
+        this.selectedItemCount = selectedItemCount;
+    }
+
+    public boolean isPresent() { return this != EMPTY; }
+    public String getDimension() { return dimension; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public float getHealth() { return health; }
+    public int getFoodLevel() { return foodLevel; }
+    public int getXpLevel() { return xpLevel; }
+    public String getSelectedItem() { return selectedItem; }
+    public int getSelectedItemCount() { return selectedItemCount; }
+
+    // Formatted getters for display
+    public String getDimensionDisplay() {
+        if (dimension == null) return "Unknown";
+        WorldDimension vanilla = WorldDimension.fromRegistryKey(dimension);
+        if (vanilla != null) return vanilla.getDisplayName();
+        int separator = dimension.indexOf(':');
+        return separator >= 0 ? dimension.substring(separator + 1) : dimension;
+    }
+
+    public String getPositionDisplay() {
+        if (!isPresent()) return "Unknown";
+        return (int) Math.floor(x) + ", " + (int) Math.floor(y) + ", " + (int) Math.floor(z);
+    }
+
+    public String getHealthDisplay() {
+        if (!isPresent()) return "Unknown";
+        return FormatUtils.formatDecimal(health, 1);
+    }
+
+    public String getSelectedItemDisplay() {
+        if (selectedItem == null) return "None";
+        int separator = selectedItem.indexOf(':');
+        return separator >= 0 ? selectedItem.substring(separator + 1) : selectedItem;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerSnapshot that = (PlayerSnapshot) o;
+        return Double.compare(x, that.x) == 0
+            && Double.compare(y, that.y) == 0
+            && Double.compare(z, that.z) == 0
+            && Float.compare(health, that.health) == 0
+            && foodLevel == that.foodLevel
+            && xpLevel == that.xpLevel
+            && selectedItemCount == that.selectedItemCount
+            && Objects.equals(dimension, that.dimension)
+            && Objects.equals(selectedItem, that.selectedItem);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, x, y, z, health, foodLevel, xpLevel, selectedItem, selectedItemCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PlayerSnapshot{dimension=%s, pos=%s, health=%.1f, xp=%d}",
+                           getDimensionDisplay(), getPositionDisplay(), health, xpLevel);
+    }
+}
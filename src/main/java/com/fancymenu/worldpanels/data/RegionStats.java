@@ -0,0 +1,76 @@
+package com.fancymenu.worldpanels.data;
+
+import java.util.Arrays;
+
+/**
+ * Immutable "explored area" summary of a world, built from region file headers only.
+ *
+ * Every generated chunk occupies one slot in its region file's location table, so the
+ * chunk count per dimension is exact without decompressing any chunk data. A chunk
+ * covers 16x16 blocks, which gives the approximate explored area in km².
+ */
+public class RegionStats {
+
+    public static final RegionStats EMPTY = new RegionStats(new int[WorldDimension.values().length], 0, 0);
+
+    private static final double CHUNK_AREA_KM2 = (16.0 * 16.0) / 1_000_000.0;
+
+    private final int[] chunkCounts;
+    private final int regionFileCount;
+    private final long newestChunkTimestamp;
+
+    /**
+     * @param chunkCounts Chunk count per dimension, indexed by {@link WorldDimension#ordinal()}
+     * @param regionFileCount Number of region files that were summarized
+     * @param newestChunkTimestamp Most recent chunk save time (Unix epoch milliseconds), 0 if unknown
+     */
+    public RegionStats(int[] chunkCounts, int regionFileCount, long newestChunkTimestamp) {
+        this.chunkCounts = Arrays.copyOf(chunkCounts, WorldDimension.values().length);
+        this.regionFileCount = regionFileCount;
+        this.newestChunkTimestamp = newestChunkTimestamp;
+    }
+
+    public int getChunkCount() {
+        int total = 0;
+        for (int count : chunkCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public int getChunkCount(WorldDimension dimension) {
+        return chunkCounts[dimension.ordinal()];
+    }
+
+    public double getExploredAreaKm2() {
+        return getChunkCount() * CHUNK_AREA_KM2;
+    }
+
+    public double getExploredAreaKm2(WorldDimension dimension) {
+        return getChunkCount(dimension) * CHUNK_AREA_KM2;
+    }
+
+    public int getRegionFileCount() { return regionFileCount; }
+    public long getNewestChunkTimestamp() { return newestChunkTimestamp; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RegionStats that = (RegionStats) o;
+        return regionFileCount == that.regionFileCount
+            && newestChunkTimestamp == that.newestChunkTimestamp
+            && Arrays.equals(chunkCounts, that.chunkCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(chunkCounts) + regionFileCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegionStats{chunks=%d, regions=%d, area=%.2fkm²}",
+                           getChunkCount(), regionFileCount, getExploredAreaKm2());
+    }
+}
@@ -0,0 +1,73 @@
+package com.fancymenu.worldpanels.data;
+
+import java.io.File;
+
+/**
+ * The three vanilla dimensions and where their data lives inside a world folder.
+ *
+ * The overworld stores its region/entities/poi folders directly in the world root,
+ * while the Nether and the End use the legacy DIM-1 and DIM1 sub-folders.
+ */
+public enum WorldDimension {
+    OVERWORLD("overworld", "Overworld", null, "minecraft:overworld"),
+    NETHER("nether", "Nether", "DIM-1", "minecraft:the_nether"),
+    END("end", "End", "DIM1", "minecraft:the_end");
+
+    private final String id;
+    private final String displayName;
+    private final String folderName;
+    private final String registryKey;
+
+    WorldDimension(String id, String displayName, String folderName, String registryKey) {
+        this.id = id;
+        this.displayName = displayName;
+        this.folderName = folderName;
+        this.registryKey = registryKey;
+    }
+
+    public String getId() { return id; }
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * Dimension registry key as stored in player NBT (e.g. "minecraft:the_nether").
+     */
+    public String getRegistryKey() { return registryKey; }
+
+    /**
+     * Name of the dimension sub-folder, or null for the overworld (world root).
+     */
+    public String getFolderName() { return folderName; }
+
+    /**
+     * Resolve the root folder of this dimension inside a world folder.
+     */
+    public File resolve(File worldFolder) {
+        return folderName == null ? worldFolder : new File(worldFolder, folderName);
+    }
+
+    /**
+     * Find the dimension that owns a top-level world sub-folder (e.g. "DIM-1"), or null.
+     */
+    public static WorldDimension fromFolderName(String folderName) {
+        if (folderName == null) return null;
+        for (WorldDimension dimension : values()) {
+            if (folderName.equals(dimension.folderName)) {
+                return dimension;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the vanilla dimension for a registry key (e.g. "minecraft:the_end"), or null.
+     */
+    public static WorldDimension fromRegistryKey(String registryKey) {
+        if (registryKey == null) return null;
+        for (WorldDimension dimension : values()) {
+            if (registryKey.equals(dimension.registryKey)) {
+                return dimension;
+            }
+        }
+        return null;
+    }
+}
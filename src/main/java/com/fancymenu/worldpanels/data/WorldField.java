@@ -0,0 +1,147 @@
+package com.fancymenu.worldpanels.data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Schema of the per-world fields shared by every projection of the world data
+ * (getWorldDataAsMap, the JSON exports, the in-memory json index).
+ *
+ * Fields are listed in export order. Each field has its JSON key, a value type and an
+ * accessor; a null value means the field is omitted for that world. OBJECT fields
+ * return an unmodifiable Map of nested values.
+ */
+public enum WorldField {
+
+    // Basic info
+    NAME("name", Type.STRING, WorldInfo::getWorldName),
+    FOLDER("folder", Type.STRING, WorldInfo::getFolderName),
+    PATH("path", Type.STRING, WorldInfo::getFolderPath),
+
+    // Game info
+    GAMEMODE("gamemode", Type.STRING, WorldInfo::getGameModeDisplay),
+    GAMEMODE_RAW("gamemodeRaw", Type.STRING, WorldInfo::getGameMode),
+    DIFFICULTY("difficulty", Type.STRING, WorldInfo::getDifficultyDisplay),
+    DIFFICULTY_RAW("difficultyRaw", Type.STRING, WorldInfo::getDifficulty),
+    VERSION("version", Type.STRING, WorldInfo::getVersion),
+    SEED("seed", Type.NUMBER, WorldInfo::getSeed),
+    HARDCORE("hardcore", Type.BOOLEAN, WorldInfo::isHardcore),
+    CHEATS("cheats", Type.BOOLEAN, WorldInfo::hasCheats),
+
+    // Timestamps
+    LAST_PLAYED("lastPlayed", Type.STRING, WorldInfo::getFormattedLastPlayed),
+    LAST_PLAYED_RAW("lastPlayedRaw", Type.NUMBER, WorldInfo::getLastPlayed),
+    CREATED("created", Type.STRING, WorldInfo::getFormattedCreationTime),
+    CREATED_RAW("createdRaw", Type.NUMBER, WorldInfo::getCreationTime),
+
+    // Status
+    IN_USE("inUse", Type.BOOLEAN, WorldInfo::isInUse),
+    STATUS("status", Type.STRING, world -> world.isInUse() ? "In Use" : "Available"),
+    HAS_ICON("hasIcon", Type.BOOLEAN, WorldInfo::hasIcon),
+    SIZE("size", Type.STRING, WorldInfo::getFormattedWorldSize),
+    SIZE_BYTES("sizeBytes", Type.NUMBER, WorldInfo::getWorldSizeBytes),
+    SIZE_BY_DIMENSION("sizeByDimension", Type.OBJECT, world -> sizeByDimension(world.getSizeBreakdown())),
+    SIZE_BY_CATEGORY("sizeByCategory", Type.OBJECT, world -> sizeByCategory(world.getSizeBreakdown())),
+
+    // World state
+    WEATHER("weather", Type.STRING, WorldInfo::getWeatherDisplay),
+    TIME_OF_DAY("timeOfDay", Type.STRING, WorldInfo::getTimeOfDayDisplay),
+    RAINING("raining", Type.BOOLEAN, WorldInfo::isRaining),
+    THUNDERING("thundering", Type.BOOLEAN, WorldInfo::isThundering),
+    WORLD_TIME("worldTime", Type.NUMBER, WorldInfo::getWorldTime),
+    DAY_TIME("dayTime", Type.NUMBER, WorldInfo::getDayTime),
+
+    // Paths
+    ICON_PATH("iconPath", Type.STRING, world -> world.getIconPath() != null ? world.getIconPath() : ""),
+
+    // Explored area (region file headers)
+    EXPLORED_CHUNKS("exploredChunks", Type.NUMBER, world -> world.getRegionStats().getChunkCount()),
+    EXPLORED_CHUNKS_OVERWORLD("exploredChunksOverworld", Type.NUMBER,
+        world -> world.getRegionStats().getChunkCount(WorldDimension.OVERWORLD)),
+    EXPLORED_CHUNKS_NETHER("exploredChunksNether", Type.NUMBER,
+        world -> world.getRegionStats().getChunkCount(WorldDimension.NETHER)),
+    EXPLORED_CHUNKS_END("exploredChunksEnd", Type.NUMBER,
+        world -> world.getRegionStats().getChunkCount(WorldDimension.END)),
+    EXPLORED_AREA_KM2("exploredAreaKm2", Type.NUMBER, world -> world.getRegionStats().getExploredAreaKm2()),
+
+    // Player snapshot (only present once player data was requested)
+    PLAYER("player", Type.OBJECT,
+        world -> world.getPlayerSnapshot().isPresent() ? player(world.getPlayerSnapshot()) : null);
+
+    /**
+     * JSON value type of a field.
+     */
+    public enum Type {
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        OBJECT
+    }
+
+    private static final WorldField[] VALUES = values();
+
+    private final String jsonKey;
+    private final Type type;
+    private final Function<WorldInfo, Object> accessor;
+
+    WorldField(String jsonKey, Type type, Function<WorldInfo, Object> accessor) {
+        this.jsonKey = jsonKey;
+        this.type = type;
+        this.accessor = accessor;
+    }
+
+    public String getJsonKey() { return jsonKey; }
+    public Type getType() { return type; }
+
+    /**
+     * Read this field from a world.
+     *
+     * @return The value (String, Number, Boolean or Map), or null if the field is omitted
+     */
+    public Object get(WorldInfo world) {
+        return accessor.apply(world);
+    }
+
+    /**
+     * All fields in export order (shared array, do not modify).
+     */
+    public static WorldField[] all() {
+        return VALUES;
+    }
+
+    private static Map<String, Object> player(PlayerSnapshot player) {
+        Map<String, Object> playerMap = new LinkedHashMap<>();
+        playerMap.put("dimension", player.getDimensionDisplay());
+        playerMap.put("dimensionRaw", player.getDimension());
+        playerMap.put("x", player.getX());
+        playerMap.put("y", player.getY());
+        playerMap.put("z", player.getZ());
+        playerMap.put("position", player.getPositionDisplay());
+        playerMap.put("health", player.getHealth());
+        playerMap.put("food", player.getFoodLevel());
+        playerMap.put("xpLevel", player.getXpLevel());
+        playerMap.put("selectedItem", player.getSelectedItemDisplay());
+        playerMap.put("selectedItemRaw", player.getSelectedItem());
+        playerMap.put("selectedItemCount", player.getSelectedItemCount());
+        return Collections.unmodifiableMap(playerMap);
+    }
+
+    private static Map<String, Object> sizeByDimension(WorldSizeBreakdown breakdown) {
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        for (WorldDimension dimension : WorldDimension.values()) {
+            sizes.put(dimension.getId(), breakdown.getDimensionBytes(dimension));
+        }
+        sizes.put(WorldSizeBreakdown.OTHER_DIMENSION_ID, breakdown.getOtherDimensionBytes());
+        return Collections.unmodifiableMap(sizes);
+    }
+
+    private static Map<String, Object> sizeByCategory(WorldSizeBreakdown breakdown) {
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        for (WorldSizeBreakdown.Category category : WorldSizeBreakdown.Category.values()) {
+            sizes.put(category.getId(), breakdown.getCategoryBytes(category));
+        }
+        return Collections.unmodifiableMap(sizes);
+    }
+}
@@ -1,7 +1,7 @@
 package com.fancymenu.worldpanels.data;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import com.fancymenu.worldpanels.utils.FormatUtils;
+
 import java.util.Objects;
 
 /**
@@ -12,6 +12,7 @@ import java.util.Objects;
  * - Game settings: mode, difficulty, version
  * - Timestamps: creation, last played, modified
  * - Status: in use, icon availability
+ * - Player: optional snapshot of the singleplayer player (opt-in)
  */
 public class WorldInfo {
     
@@ -38,6 +39,7 @@ public class WorldInfo {
     private final boolean isInUse;
     private final boolean hasIcon;
     private final long worldSizeBytes;
+    private final WorldSizeBreakdown sizeBreakdown;
     
     // World time information
     private final long worldTime;
@@ -45,6 +47,18 @@ public class WorldInfo {
     private final boolean raining;
     private final boolean thundering;
     
+    // Explored area (slow-tier, from region file headers)
+    private final RegionStats regionStats;
+    
+    // Player snapshot, null when player data was not extracted
+    private final PlayerSnapshot playerSnapshot;
+    
+    // Display strings, formatted on first use (instances never change, so neither do these)
+    private volatile String formattedLastPlayed;
+    private volatile String formattedCreationTime;
+    private volatile String formattedWorldSize;
+    private volatile String formattedExploredArea;
+    
     private WorldInfo(Builder builder) {
         this.folderName = builder.folderName;
         this.worldName = builder.worldName;
@@ -62,10 +76,13 @@ public class WorldInfo {
         this.isInUse = builder.isInUse;
         this.hasIcon = builder.iconPath != null;
         this.worldSizeBytes = builder.worldSizeBytes;
+        this.sizeBreakdown = builder.sizeBreakdown != null ? builder.sizeBreakdown : WorldSizeBreakdown.EMPTY;
         this.worldTime = builder.worldTime;
         this.dayTime = builder.dayTime;
         this.raining = builder.raining;
         this.thundering = builder.thundering;
+        this.regionStats = builder.regionStats != null ? builder.regionStats : RegionStats.EMPTY;
+        this.playerSnapshot = builder.playerSnapshot;
     }
     
     // Getters
@@ -85,35 +102,54 @@ public class WorldInfo {
     public boolean isInUse() { return isInUse; }
     public boolean hasIcon() { return hasIcon; }
     public long getWorldSizeBytes() { return worldSizeBytes; }
+    public WorldSizeBreakdown getSizeBreakdown() { return sizeBreakdown; }
     public long getWorldTime() { return worldTime; }
     public long getDayTime() { return dayTime; }
     public boolean isRaining() { return raining; }
     public boolean isThundering() { return thundering; }
+    public RegionStats getRegionStats() { return regionStats; }
+    public PlayerSnapshot getPlayerSnapshot() { return playerSnapshot != null ? playerSnapshot : PlayerSnapshot.EMPTY; }
+    public boolean isPlayerSnapshotLoaded() { return playerSnapshot != null; }
     
     // Formatted getters for display
     public String getFormattedLastPlayed() {
         if (lastPlayed == 0) return "Never";
-        return new SimpleDateFormat("MMM dd, yyyy HH:mm").format(new Date(lastPlayed));
+        String formatted = formattedLastPlayed;
+        if (formatted == null) {
+            formatted = FormatUtils.formatDate(lastPlayed, FormatUtils.DatePattern.DATETIME);
+            formattedLastPlayed = formatted;
+        }
+        return formatted;
     }
     
     public String getFormattedCreationTime() {
         if (creationTime == 0) return "Unknown";
-        return new SimpleDateFormat("MMM dd, yyyy").format(new Date(creationTime));
+        String formatted = formattedCreationTime;
+        if (formatted == null) {
+            formatted = FormatUtils.formatDate(creationTime, FormatUtils.DatePattern.DATE);
+            formattedCreationTime = formatted;
+        }
+        return formatted;
     }
     
     public String getFormattedWorldSize() {
         if (worldSizeBytes == 0) return "Unknown";
-        
-        double bytes = worldSizeBytes;
-        String[] units = {"B", "KB", "MB", "GB"};
-        int unitIndex = 0;
-        
-        while (bytes >= 1024 && unitIndex < units.length - 1) {
-            bytes /= 1024;
-            unitIndex++;
+        String formatted = formattedWorldSize;
+        if (formatted == null) {
+            formatted = FormatUtils.formatBytes(worldSizeBytes);
+            formattedWorldSize = formatted;
         }
-        
-        return String.format("%.1f %s", bytes, units[unitIndex]);
+        return formatted;
+    }
+    
+    public String getFormattedExploredArea() {
+        if (regionStats.getRegionFileCount() == 0) return "Unknown";
+        String formatted = formattedExploredArea;
+        if (formatted == null) {
+            formatted = FormatUtils.formatArea(regionStats.getExploredAreaKm2());
+            formattedExploredArea = formatted;
+        }
+        return formatted;
     }
     
     public String getGameModeDisplay() {
@@ -148,7 +184,7 @@ public class WorldInfo {
         long time = dayTime % 24000;
         int hours = (int) ((time + 6000) / 1000) % 24;
         int minutes = (int) (((time + 6000) % 1000) * 60 / 1000);
-        return String.format("%02d:%02d", hours, minutes);
+        return FormatUtils.formatClock(hours, minutes);
     }
     
     @Override
@@ -170,6 +206,35 @@ public class WorldInfo {
                            getWorldName(), folderName, getGameModeDisplay(), getFormattedLastPlayed());
     }
     
+    /**
+     * Create a builder pre-populated with this world's data, for deriving updated copies.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .folderName(folderName)
+            .worldName(worldName)
+            .folderPath(folderPath)
+            .iconPath(iconPath)
+            .gameMode(gameMode)
+            .difficulty(difficulty)
+            .version(version)
+            .seed(seed)
+            .hardcore(hardcore)
+            .cheats(cheats)
+            .lastPlayed(lastPlayed)
+            .creationTime(creationTime)
+            .folderModified(folderModified)
+            .isInUse(isInUse)
+            .worldSizeBytes(worldSizeBytes)
+            .sizeBreakdown(sizeBreakdown)
+            .worldTime(worldTime)
+            .dayTime(dayTime)
+            .raining(raining)
+            .thundering(thundering)
+            .regionStats(regionStats)
+            .playerSnapshot(playerSnapshot);
+    }
+    
     /**
      * Builder pattern for creating WorldInfo instances.
      */
@@ -189,10 +254,13 @@ public class WorldInfo {
         private long folderModified = 0;
         private boolean isInUse = false;
         private long worldSizeBytes = 0;
+        private WorldSizeBreakdown sizeBreakdown = WorldSizeBreakdown.EMPTY;
         private long worldTime = 0;
         private long dayTime = 0;
         private boolean raining = false;
         private boolean thundering = false;
+        private RegionStats regionStats = RegionStats.EMPTY;
+        private PlayerSnapshot playerSnapshot = null;
         
         public Builder folderName(String folderName) {
             this.folderName = folderName;
@@ -269,6 +337,11 @@ public class WorldInfo {
             return this;
         }
         
+        public Builder sizeBreakdown(WorldSizeBreakdown sizeBreakdown) {
+            this.sizeBreakdown = sizeBreakdown;
+            return this;
+        }
+        
         public Builder worldTime(long worldTime) {
             this.worldTime = worldTime;
             return this;
@@ -289,6 +362,16 @@ public class WorldInfo {
             return this;
         }
         
+        public Builder regionStats(RegionStats regionStats) {
+            this.regionStats = regionStats;
+            return this;
+        }
+        
+        public Builder playerSnapshot(PlayerSnapshot playerSnapshot) {
+            this.playerSnapshot = playerSnapshot;
+            return this;
+        }
+        
         public WorldInfo build() {
             Objects.requireNonNull(folderName, "Folder name is required");
             Objects.requireNonNull(folderPath, "Folder path is required");
@@ -0,0 +1,222 @@
+package com.fancymenu.worldpanels.data;
+
+import com.fancymenu.worldpanels.utils.FormatUtils;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Registry of the per-world placeholder properties (worldpanels_world_&lt;n&gt;_&lt;property&gt;).
+ *
+ * Each property has its names (the first is the canonical one, the others are aliases),
+ * a display accessor returning the placeholder text and a raw accessor returning the typed
+ * value. Properties that mirror an export field take their raw value from that
+ * {@link WorldField}, so the placeholders and the exports share one mapping.
+ *
+ * Names are resolved once with {@link #byName(String)}, when a placeholder is parsed;
+ * evaluating a resolved property is a single accessor call.
+ */
+public enum WorldProperty {
+
+    // Basic info
+    NAME(WorldField.NAME, WorldInfo::getWorldName, "name", "display_name", "displayname"),
+    FOLDER(WorldField.FOLDER, WorldInfo::getFolderName, "folder"),
+    PATH(WorldField.PATH, WorldInfo::getFolderPath, "path"),
+
+    // Game info
+    GAMEMODE(WorldField.GAMEMODE, WorldInfo::getGameModeDisplay, "gamemode"),
+    GAMEMODE_RAW(WorldField.GAMEMODE_RAW, WorldInfo::getGameMode, "gamemode_raw", "gamemoderaw"),
+    DIFFICULTY(WorldField.DIFFICULTY, WorldInfo::getDifficultyDisplay, "difficulty"),
+    DIFFICULTY_RAW(WorldField.DIFFICULTY_RAW, WorldInfo::getDifficulty, "difficulty_raw", "difficultyraw"),
+    VERSION(WorldField.VERSION, WorldInfo::getVersion, "version"),
+    SEED(WorldField.SEED, world -> String.valueOf(world.getSeed()), "seed"),
+    HARDCORE(WorldField.HARDCORE, world -> yesNo(world.isHardcore()), "hardcore"),
+    CHEATS(WorldField.CHEATS, world -> world.hasCheats() ? "Enabled" : "Disabled", "cheats", "cheats_enabled"),
+
+    // Timestamps
+    LAST_PLAYED(WorldField.LAST_PLAYED, WorldInfo::getFormattedLastPlayed, "last_played", "lastplayed"),
+    LAST_PLAYED_RAW(WorldField.LAST_PLAYED_RAW, world -> String.valueOf(world.getLastPlayed()),
+        "last_played_raw", "lastplayedraw"),
+    CREATED(WorldField.CREATED, WorldInfo::getFormattedCreationTime, "created", "creation_time"),
+    CREATED_RAW(WorldField.CREATED_RAW, world -> String.valueOf(world.getCreationTime()), "created_raw", "createdraw"),
+
+    // Size
+    SIZE(WorldField.SIZE, WorldInfo::getFormattedWorldSize, "size", "size_formatted"),
+    SIZE_BYTES(WorldField.SIZE_BYTES, world -> String.valueOf(world.getWorldSizeBytes()), "size_bytes", "sizebytes"),
+    SIZE_OVERWORLD(world -> world.getSizeBreakdown().getDimensionBytes(WorldDimension.OVERWORLD), "size_overworld"),
+    SIZE_NETHER(world -> world.getSizeBreakdown().getDimensionBytes(WorldDimension.NETHER), "size_nether"),
+    SIZE_END(world -> world.getSizeBreakdown().getDimensionBytes(WorldDimension.END), "size_end"),
+    SIZE_REGION(world -> world.getSizeBreakdown().getCategoryBytes(WorldSizeBreakdown.Category.REGION), "size_region"),
+    SIZE_ENTITIES(world -> world.getSizeBreakdown().getCategoryBytes(WorldSizeBreakdown.Category.ENTITIES), "size_entities"),
+    SIZE_POI(world -> world.getSizeBreakdown().getCategoryBytes(WorldSizeBreakdown.Category.POI), "size_poi"),
+    SIZE_PLAYERDATA(world -> world.getSizeBreakdown().getCategoryBytes(WorldSizeBreakdown.Category.PLAYERDATA),
+        "size_playerdata"),
+    SIZE_DATA(world -> world.getSizeBreakdown().getCategoryBytes(WorldSizeBreakdown.Category.DATA), "size_data"),
+    SIZE_OTHER(world -> world.getSizeBreakdown().getCategoryBytes(WorldSizeBreakdown.Category.OTHER), "size_other"),
+
+    // Status
+    IN_USE(WorldField.IN_USE, WorldProperty::status, "in_use", "inuse"),
+    STATUS(WorldField.STATUS, WorldProperty::status, "status"),
+    HAS_ICON(WorldField.HAS_ICON, world -> yesNo(world.hasIcon()), "has_icon", "hasicon"),
+
+    // World state
+    WEATHER(WorldField.WEATHER, WorldInfo::getWeatherDisplay, "weather"),
+    TIME_OF_DAY(WorldField.TIME_OF_DAY, WorldInfo::getTimeOfDayDisplay, "time_of_day", "timeofday"),
+    RAINING(WorldField.RAINING, world -> yesNo(world.isRaining()), "raining"),
+    THUNDERING(WorldField.THUNDERING, world -> yesNo(world.isThundering()), "thundering"),
+    WORLD_TIME(WorldField.WORLD_TIME, world -> String.valueOf(world.getWorldTime()), "world_time", "worldtime"),
+    DAY_TIME(WorldField.DAY_TIME, world -> String.valueOf(world.getDayTime()), "day_time", "daytime"),
+
+    // Paths
+    ICON_PATH(WorldField.ICON_PATH, world -> world.getIconPath() != null ? world.getIconPath() : "",
+        "icon_path", "iconpath"),
+
+    // Explored area (region file headers)
+    EXPLORED_CHUNKS(WorldField.EXPLORED_CHUNKS, world -> String.valueOf(world.getRegionStats().getChunkCount()),
+        "explored_chunks", "exploredchunks"),
+    EXPLORED_CHUNKS_OVERWORLD(WorldField.EXPLORED_CHUNKS_OVERWORLD,
+        world -> String.valueOf(world.getRegionStats().getChunkCount(WorldDimension.OVERWORLD)), "explored_chunks_overworld"),
+    EXPLORED_CHUNKS_NETHER(WorldField.EXPLORED_CHUNKS_NETHER,
+        world -> String.valueOf(world.getRegionStats().getChunkCount(WorldDimension.NETHER)), "explored_chunks_nether"),
+    EXPLORED_CHUNKS_END(WorldField.EXPLORED_CHUNKS_END,
+        world -> String.valueOf(world.getRegionStats().getChunkCount(WorldDimension.END)), "explored_chunks_end"),
+    EXPLORED_AREA(WorldField.EXPLORED_AREA_KM2, WorldInfo::getFormattedExploredArea, "explored_area", "exploredarea"),
+
+    // Player snapshot (resolving one of these enables player data extraction; worlds without one show "Unknown")
+    PLAYER_DIMENSION(player(PlayerSnapshot::getDimension), world -> world.getPlayerSnapshot().getDimensionDisplay(),
+        "player_dimension"),
+    PLAYER_X(player(PlayerSnapshot::getX), playerDisplay(player -> blockCoordinate(player.getX())), "player_x"),
+    PLAYER_Y(player(PlayerSnapshot::getY), playerDisplay(player -> blockCoordinate(player.getY())), "player_y"),
+    PLAYER_Z(player(PlayerSnapshot::getZ), playerDisplay(player -> blockCoordinate(player.getZ())), "player_z"),
+    PLAYER_POSITION(player(PlayerSnapshot::getPositionDisplay), world -> world.getPlayerSnapshot().getPositionDisplay(),
+        "player_position"),
+    PLAYER_HEALTH(player(PlayerSnapshot::getHealth), world -> world.getPlayerSnapshot().getHealthDisplay(),
+        "player_health"),
+    PLAYER_FOOD(player(PlayerSnapshot::getFoodLevel), playerDisplay(player -> String.valueOf(player.getFoodLevel())),
+        "player_food"),
+    PLAYER_XP_LEVEL(player(PlayerSnapshot::getXpLevel), playerDisplay(player -> String.valueOf(player.getXpLevel())),
+        "player_xp_level"),
+    PLAYER_SELECTED_ITEM(player(PlayerSnapshot::getSelectedItem),
+        world -> world.getPlayerSnapshot().getSelectedItemDisplay(), "player_selected_item"),
+    PLAYER_SELECTED_ITEM_COUNT(player(PlayerSnapshot::getSelectedItemCount),
+        playerDisplay(player -> String.valueOf(player.getSelectedItemCount())), "player_selected_item_count");
+
+    private static final WorldProperty[] VALUES = values();
+    private static final Map<String, WorldProperty> BY_NAME = new HashMap<>();
+
+    static {
+        for (WorldProperty property : VALUES) {
+            for (String name : property.names) {
+                BY_NAME.put(name, property);
+            }
+        }
+    }
+
+    private final String[] names;
+    private final WorldField field;
+    private final Function<WorldInfo, Object> raw;
+    private final Function<WorldInfo, String> display;
+    private final boolean playerData;
+
+    WorldProperty(WorldField field, Function<WorldInfo, String> display, String... names) {
+        this(field, field::get, display, false, names);
+    }
+
+    /**
+     * Size breakdown property: the raw value is the byte count.
+     */
+    WorldProperty(Function<WorldInfo, Long> bytes, String... names) {
+        this(null, bytes::apply, world -> FormatUtils.formatBytes(bytes.apply(world)), false, names);
+    }
+
+    /**
+     * Player snapshot property.
+     */
+    WorldProperty(Function<WorldInfo, Object> raw, Function<WorldInfo, String> display, String... names) {
+        this(null, raw, display, true, names);
+    }
+
+    WorldProperty(WorldField field, Function<WorldInfo, Object> raw, Function<WorldInfo, String> display,
+                  boolean playerData, String... names) {
+        this.names = names;
+        this.field = field;
+        this.raw = raw;
+        this.display = display;
+        this.playerData = playerData;
+    }
+
+    /**
+     * Canonical placeholder name, e.g. "last_played".
+     */
+    public String getName() { return names[0]; }
+
+    /**
+     * The export field this property mirrors, or null if it has none.
+     */
+    public WorldField getField() { return field; }
+
+    /**
+     * Whether the value comes from the player snapshot, which is only loaded once requested.
+     */
+    public boolean needsPlayerData() { return playerData; }
+
+    /**
+     * Placeholder text of this property, e.g. "Yes" or "12.5 MB".
+     */
+    public String getDisplay(WorldInfo world) {
+        return display.apply(world);
+    }
+
+    /**
+     * Typed value of this property (String, Number or Boolean), e.g. true or 13107200.
+     */
+    public Object getRaw(WorldInfo world) {
+        return raw.apply(world);
+    }
+
+    /**
+     * Resolve a property name or alias, ignoring case.
+     *
+     * @return The property, or null if the name is not registered
+     */
+    public static WorldProperty byName(String name) {
+        if (name == null) return null;
+        return BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * All properties (shared array, do not modify).
+     */
+    public static WorldProperty[] all() {
+        return VALUES;
+    }
+
+    private static String yesNo(boolean value) {
+        return value ? "Yes" : "No";
+    }
+
+    private static String status(WorldInfo world) {
+        return world.isInUse() ? "In Use" : "Available";
+    }
+
+    private static String blockCoordinate(double coordinate) {
+        return String.valueOf((int) Math.floor(coordinate));
+    }
+
+    private static Function<WorldInfo, Object> player(Function<PlayerSnapshot, Object> accessor) {
+        return world -> accessor.apply(world.getPlayerSnapshot());
+    }
+
+    /**
+     * Display of a numeric player value; "Unknown" (like the position and health) if the world has
+     * no player snapshot, rather than the empty snapshot's zeros.
+     */
+    private static Function<WorldInfo, String> playerDisplay(Function<PlayerSnapshot, String> display) {
+        return world -> {
+            PlayerSnapshot player = world.getPlayerSnapshot();
+            return player.isPresent() ? display.apply(player) : "Unknown";
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.fancymenu.worldpanels.data;
+
+import java.util.Arrays;
+
+/**
+ * Immutable disk usage breakdown of a world folder, by dimension and by data category.
+ *
+ * Both breakdowns are stored in a single long array and always add up to the total:
+ * files that belong to no vanilla dimension (level.dat, playerdata, stats, custom
+ * dimensions, ...) are counted as "other" dimension.
+ */
+public class WorldSizeBreakdown {
+
+    /**
+     * Kind of data a file belongs to, based on the folder it lives in.
+     */
+    public enum Category {
+        REGION("region"),
+        ENTITIES("entities"),
+        POI("poi"),
+        PLAYERDATA("playerdata"),
+        DATA("data"),
+        OTHER("other");
+
+        private final String id;
+
+        Category(String id) {
+            this.id = id;
+        }
+
+        public String getId() { return id; }
+
+        /**
+         * Map a folder name to its category, {@link #OTHER} if it is not a known data folder.
+         */
+        public static Category fromFolderName(String folderName) {
+            for (Category category : values()) {
+                if (category != OTHER && category.id.equals(folderName)) {
+                    return category;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    public static final String OTHER_DIMENSION_ID = "other";
+
+    private static final int DIMENSION_SLOTS = WorldDimension.values().length + 1;
+    private static final int OTHER_DIMENSION = DIMENSION_SLOTS - 1;
+
+    public static final WorldSizeBreakdown EMPTY = new WorldSizeBreakdown(new long[DIMENSION_SLOTS + Category.values().length]);
+
+    // [overworld, nether, end, other dimension, region, entities, poi, playerdata, data, other category]
+    private final long[] bytes;
+
+    private WorldSizeBreakdown(long[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public long getTotalBytes() {
+        long total = 0;
+        for (int i = 0; i < DIMENSION_SLOTS; i++) {
+            total += bytes[i];
+        }
+        return total;
+    }
+
+    public long getDimensionBytes(WorldDimension dimension) {
+        return bytes[dimension.ordinal()];
+    }
+
+    /**
+     * Bytes outside the vanilla dimensions (world-wide files and custom dimensions).
+     */
+    public long getOtherDimensionBytes() {
+        return bytes[OTHER_DIMENSION];
+    }
+
+    public long getCategoryBytes(Category category) {
+        return bytes[DIMENSION_SLOTS + category.ordinal()];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(bytes, ((WorldSizeBreakdown) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Accumulates file sizes while walking a world folder.
+     */
+    public static class Builder {
+        private final long[] bytes = new long[DIMENSION_SLOTS + Category.values().length];
+
+        /**
+         * Add a file's size.
+         *
+         * @param dimension The owning dimension, or null for world-wide / custom dimension files
+         * @param category The data category of the file
+         * @param size File size in bytes
+         */
+        public Builder add(WorldDimension dimension, Category category, long size) {
+            bytes[dimension != null ? dimension.ordinal() : OTHER_DIMENSION] += size;
+            bytes[DIMENSION_SLOTS + category.ordinal()] += size;
+            return this;
+        }
+
+        public WorldSizeBreakdown build() {
+            return new WorldSizeBreakdown(bytes.clone());
+        }
+    }
+}
@@ -475,7 +475,9 @@ public class WorldCardElement extends AbstractElement {
                 renderTemplateBackground(drawContext, cardX, cardY);
             }
             
-            // Render each anchored element with placeholder processing
+            // Render each anchored element with placeholder processing.
+            // One batch per card, so placeholders shared by several children are resolved once
+            PlaceholderProcessor.Batch placeholders = PlaceholderProcessor.batch(world);
             for (int j = 0; j < templateChildren.size(); j++) {
                 AbstractElement child = templateChildren.get(j);
                 try {
@@ -483,7 +485,7 @@ public class WorldCardElement extends AbstractElement {
                     if (System.currentTimeMillis() - lastUpdate < 1000) {
                         LOGGER.info("🔧 Rendering template child {} ({}) for world: {}", j, child.getClass().getSimpleName(), world.getWorldName());
                     }
-                    renderTemplateChild(drawContext, child, world, cardX, cardY);
+                    renderTemplateChild(drawContext, child, placeholders, cardX, cardY);
                 } catch (Exception e) {
                     LOGGER.error("💥 Failed to render template child {} for world: {}", j, world.getWorldName(), e);
                 }
@@ -511,7 +513,8 @@ public class WorldCardElement extends AbstractElement {
     /**
      * Render a template child element with placeholder processing
      */
-    private void renderTemplateChild(DrawContext drawContext, AbstractElement child, WorldInfo world, int cardX, int cardY) {
+    private void renderTemplateChild(DrawContext drawContext, AbstractElement child, PlaceholderProcessor.Batch placeholders, int cardX, int cardY) {
+        WorldInfo world = placeholders.getWorld();
         try {
             // Calculate child position relative to template
             int templateX = templateElement.getAbsoluteX();
@@ -546,11 +549,11 @@ public class WorldCardElement extends AbstractElement {
             } else if (childClassName.contains("Text") || childClassName.contains("Label")) {
                 // Handle text elements
                 LOGGER.debug("Detected text element - processing placeholders");
-                renderTextElementWithPlaceholders(drawContext, child, world, childX, childY);
+                renderTextElementWithPlaceholders(drawContext, child, placeholders, childX, childY);
             } else if (childClassName.contains("Button") || childClassName.contains("Widget")) {
                 // Handle button elements
                 LOGGER.debug("Detected button/widget element - processing placeholders");
-                renderButtonElementWithPlaceholders(drawContext, child, world, childX, childY);
+                renderButtonElementWithPlaceholders(drawContext, child, placeholders, childX, childY);
             } else {
                 // Try to render as the actual element type
                 LOGGER.debug("Unknown element type: {} - trying direct rendering", fullClassName);
@@ -640,12 +643,13 @@ public class WorldCardElement extends AbstractElement {
     /**
      * Render button elements with placeholder processing
      */
-    private void renderButtonElementWithPlaceholders(DrawContext drawContext, AbstractElement buttonElement, WorldInfo world, int x, int y) {
+    private void renderButtonElementWithPlaceholders(DrawContext drawContext, AbstractElement buttonElement, PlaceholderProcessor.Batch placeholders, int x, int y) {
+        WorldInfo world = placeholders.getWorld();
         try {
             // Process any text placeholders in button labels
             String buttonText = getTextFromElement(buttonElement);
             if (buttonText != null) {
-                String processedText = PlaceholderProcessor.processPlaceholders(buttonText, world);
+                String processedText = placeholders.process(buttonText);
                 
                 // Try to update the button text
                 setTextOnElement(buttonElement, processedText);
@@ -794,7 +798,7 @@ public class WorldCardElement extends AbstractElement {
     /**
      * Enhanced text rendering with real element text extraction
      */
-    private void renderTextElementWithPlaceholders(DrawContext drawContext, AbstractElement textElement, WorldInfo world, int x, int y) {
+    private void renderTextElementWithPlaceholders(DrawContext drawContext, AbstractElement textElement, PlaceholderProcessor.Batch placeholders, int x, int y) {
         try {
             // Skip rendering text for WorldCardImageElement - it handles its own rendering
             if (textElement instanceof WorldCardImageElement) {
@@ -806,7 +810,7 @@ public class WorldCardElement extends AbstractElement {
             String originalText = getTextFromElement(textElement);
             
             // Process placeholders using enhanced processor
-            String processedText = PlaceholderProcessor.processPlaceholders(originalText, world);
+            String processedText = placeholders.process(originalText);
             
             // Render the processed text
             MinecraftClient client = MinecraftClient.getInstance();
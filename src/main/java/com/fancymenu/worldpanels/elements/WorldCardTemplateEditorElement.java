@@ -247,6 +247,7 @@ public class WorldCardTemplateEditorElement extends AbstractEditorElement {
             // World Status & Size
             client.player.sendMessage(Text.literal("§e📊 STATUS & SIZE:"), false);
             client.player.sendMessage(Text.literal("§f{in_use} §7- Currently playing (Yes/No)"), false);
+            client.player.sendMessage(Text.literal("§f{status} §7- In Use or Available"), false);
             client.player.sendMessage(Text.literal("§f{world_size_formatted} §7- World size (125.3 MB)"), false);
             client.player.sendMessage(Text.literal("§f{world_size_mb} §7- Size in MB"), false);
             client.player.sendMessage(Text.literal("§f{play_status} §7- Recently Played, etc."), false);
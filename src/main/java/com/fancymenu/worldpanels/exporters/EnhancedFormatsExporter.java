@@ -0,0 +1,237 @@
+package com.fancymenu.worldpanels.exporters;
+
+import com.fancymenu.worldpanels.data.WorldField;
+import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.managers.WorldProjection;
+import com.fancymenu.worldpanels.template.PlaceholderProcessor;
+import com.fancymenu.worldpanels.utils.FileUtils;
+import com.google.gson.stream.JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the card-oriented export formats next to worlddata.json:
+ * - worldcards.json: one pre-rendered card (title, subtitle, ...) per world plus a layout hint
+ * - worldtemplate.json: a fixed number of template slots, filled with the most recent worlds
+ *
+ * Both files are built from the same world snapshot as worlddata.json, in the same export
+ * pass. Card strings are rendered once per world, and each file is only rewritten when its
+ * content (excluding lastUpdated) changed.
+ */
+class EnhancedFormatsExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnhancedFormatsExporter.class);
+
+    static final String CARDS_FILENAME = "worldcards.json";
+    static final String TEMPLATE_FILENAME = "worldtemplate.json";
+
+    private static final String TEMPLATE_VERSION = "1.0.0";
+    private static final int TEMPLATE_SLOTS = 10;
+    private static final int MAX_VISIBLE_ROWS = 3;
+
+    // Card lines, rendered with the PlaceholderProcessor. The file is only rewritten when the worlds
+    // change, so no line may depend on the clock: times are absolute ({last_played} would be a relative
+    // "x ago") and the status is In Use/Available ({play_status} is "Played This Week", ...)
+    private static final String[] CARD_KEYS = {"title", "subtitle", "lastPlayed", "details", "status"};
+    private static final String[] CARD_TEMPLATES = {
+        "{world_name}",
+        "{game_mode_display} • {difficulty_display}",
+        "Last: {last_played_datetime}",
+        "{world_size_formatted} • {version}",
+        "{status}"
+    };
+
+    // World fields of a template slot: JSON name, field
+    private static final Object[][] SLOT_FIELDS = {
+        {"name", WorldField.NAME},
+        {"gamemode", WorldField.GAMEMODE},
+        {"difficulty", WorldField.DIFFICULTY},
+        {"lastPlayed", WorldField.LAST_PLAYED},
+        {"size", WorldField.SIZE},
+        {"hasIcon", WorldField.HAS_ICON}
+    };
+
+    // Grid layouts offered in worldtemplate.json: name, columns, rows
+    private static final Object[][] GRID_LAYOUTS = {
+        {"grid2x2", 2, 2},
+        {"grid3x3", 3, 3},
+        {"grid4x3", 4, 3}
+    };
+
+    private final File cardsFile;
+    private final File templateFile;
+
+    private byte[] lastCardsHash;
+    private byte[] lastTemplateHash;
+
+    EnhancedFormatsExporter(File exportDirectory) {
+        this.cardsFile = new File(exportDirectory, CARDS_FILENAME);
+        this.templateFile = new File(exportDirectory, TEMPLATE_FILENAME);
+    }
+
+    /**
+     * Pre-rendered card strings of one world.
+     */
+    static final class Card {
+        final WorldInfo world;
+        final String[] lines;
+
+        Card(WorldInfo world, String[] lines) {
+            this.world = world;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * Write worldcards.json and worldtemplate.json, skipping files whose content is unchanged.
+     *
+     * @param projection The world snapshot, in export order
+     */
+    void export(WorldProjection projection) throws IOException {
+        // Render every card once; both formats are written from these
+        List<Card> cards = renderCards(projection);
+
+        // Hashes leave out lastUpdated (a null member is not written)
+        byte[] cardsHash = WorldJsonWriter.hash(writer -> writeCards(writer, cards, null));
+        if (!Arrays.equals(cardsHash, lastCardsHash) || !cardsFile.exists()) {
+            String lastUpdated = Instant.now().toString();
+            publish(cardsFile, writer -> writeCards(writer, cards, lastUpdated));
+            lastCardsHash = cardsHash;
+            LOGGER.debug("Exported {} world cards to {}", cards.size(), cardsFile.getName());
+        }
+
+        byte[] templateHash = WorldJsonWriter.hash(writer -> writeTemplate(writer, projection, null));
+        if (!Arrays.equals(templateHash, lastTemplateHash) || !templateFile.exists()) {
+            String lastUpdated = Instant.now().toString();
+            publish(templateFile, writer -> writeTemplate(writer, projection, lastUpdated));
+            lastTemplateHash = templateHash;
+            LOGGER.debug("Exported world template slots to {}", templateFile.getName());
+        }
+    }
+
+    /**
+     * Whether worldcards.json and worldtemplate.json are both on disk.
+     */
+    boolean filesExist() {
+        return cardsFile.exists() && templateFile.exists();
+    }
+
+    /**
+     * Render the card strings of every world.
+     */
+    static List<Card> renderCards(WorldProjection projection) {
+        List<Card> cards = new ArrayList<>(projection.size());
+        for (WorldInfo world : projection.getWorlds()) {
+            cards.add(new Card(world, PlaceholderProcessor.processPlaceholders(CARD_TEMPLATES, world)));
+        }
+        return cards;
+    }
+
+    /**
+     * Atomically publish a pretty-printed JSON file.
+     */
+    private void publish(File file, WorldJsonWriter.JsonContent content) throws IOException {
+        FileUtils.writeAtomically(file.toPath(), out -> {
+            JsonWriter writer = WorldJsonWriter.create(out, true);
+            content.write(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Write worldcards.json.
+     */
+    static void writeCards(JsonWriter writer, List<Card> cards, String lastUpdated) throws IOException {
+        writer.beginObject();
+        writer.name("totalWorlds").value(cards.size());
+        writer.name("lastUpdated").value(lastUpdated);
+
+        writer.name("cards");
+        writer.beginArray();
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            writer.beginObject();
+            writer.name("index").value(i);
+            writer.name("folder").value(card.world.getFolderName());
+            for (int line = 0; line < CARD_KEYS.length; line++) {
+                writer.name(CARD_KEYS[line]).value(card.lines[line]);
+            }
+            writer.name("inUse").value(card.world.isInUse());
+            writer.name("hasIcon").value(card.world.hasIcon());
+            writer.name("iconPath").value(card.world.getIconPath() != null ? card.world.getIconPath() : "");
+            writer.endObject();
+        }
+        writer.endArray();
+
+        // Layout hint: up to 3 columns, scrolling once the rows exceed the visible area
+        int columns = cards.size() <= 1 ? 1 : cards.size() <= 4 ? 2 : 3;
+        int rows = (cards.size() + columns - 1) / columns;
+        writer.name("layout");
+        writer.beginObject();
+        writer.name("recommendedColumns").value(columns);
+        writer.name("recommendedRows").value(rows);
+        writer.name("needsScrolling").value(rows > MAX_VISIBLE_ROWS);
+        writer.endObject();
+
+        writer.endObject();
+    }
+
+    /**
+     * Write worldtemplate.json.
+     */
+    static void writeTemplate(JsonWriter writer, WorldProjection projection, String lastUpdated) throws IOException {
+        int worldCount = projection.size();
+        writer.beginObject();
+        writer.name("version").value(TEMPLATE_VERSION);
+        writer.name("lastUpdated").value(lastUpdated);
+        writer.name("worldCount").value(worldCount);
+
+        writer.name("slots");
+        writer.beginArray();
+        for (int slot = 0; slot < TEMPLATE_SLOTS; slot++) {
+            boolean hasWorld = slot < worldCount;
+            writer.beginObject();
+            writer.name("slotIndex").value(slot);
+            writer.name("hasWorld").value(hasWorld);
+            writer.name("world");
+            writer.beginObject();
+            for (Object[] slotField : SLOT_FIELDS) {
+                WorldField field = (WorldField) slotField[1];
+                writer.name((String) slotField[0]);
+                if (field.getType() == WorldField.Type.BOOLEAN) {
+                    writer.value(hasWorld && (Boolean) projection.getValue(slot, field));
+                } else {
+                    writer.value(hasWorld ? (String) projection.getValue(slot, field) : "");
+                }
+            }
+            writer.name("isEmpty").value(!hasWorld);
+            writer.endObject();
+            writer.endObject();
+        }
+        writer.endArray();
+
+        writer.name("gridLayouts");
+        writer.beginObject();
+        for (Object[] layout : GRID_LAYOUTS) {
+            int columns = (Integer) layout[1];
+            int rows = (Integer) layout[2];
+            writer.name((String) layout[0]);
+            writer.beginObject();
+            writer.name("columns").value(columns);
+            writer.name("rows").value(rows);
+            writer.name("maxWorlds").value(columns * rows);
+            writer.name("suitable").value(worldCount <= columns * rows);
+            writer.endObject();
+        }
+        writer.endObject();
+
+        writer.endObject();
+    }
+}
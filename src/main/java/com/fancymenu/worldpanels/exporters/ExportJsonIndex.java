@@ -0,0 +1,314 @@
+package com.fancymenu.worldpanels.exporters;
+
+import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.managers.WorldDataManager;
+import com.fancymenu.worldpanels.managers.WorldProjection;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the export files for FancyMenu's json placeholder.
+ *
+ * Every file we export (worlddata.json, the world shards, worldcards.json, worldtemplate.json)
+ * is flattened into a map from canonical JSON path (e.g. "$.worlds[0].name") to its value,
+ * built once per WorldDataManager snapshot version from the same projection and writers
+ * as the disk export.
+ * A json placeholder on one of these files is then answered with a hash lookup instead of
+ * reading and parsing the file.
+ *
+ * Only plain paths (member names and array indices) to primitive values are answered.
+ * Everything else (wildcards, filters, objects, missing members, foreign files) returns null,
+ * and FancyMenu reads the file from disk as before.
+ */
+@Environment(EnvType.CLIENT)
+public class ExportJsonIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportJsonIndex.class);
+
+    private static final String ASSETS_PREFIX = "config/fancymenu/assets/";
+    private static final String SHARD_PREFIX = WorldShardExporter.SHARD_FOLDER + "/";
+    private static final String BY_FOLDER_PREFIX = SHARD_PREFIX + WorldShardExporter.BY_FOLDER + "/";
+    private static final String MISS = new String("miss");
+
+    private final String runDirectoryPath;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Flattened export files of one snapshot version.
+     */
+    private static final class Snapshot {
+        final long version;
+        // File (relative to the assets folder) -> canonical path -> value
+        final Map<String, Map<String, String>> files = new HashMap<>();
+        // Shard files are views of worlddata.json: file -> path prefix in worlddata.json
+        final Map<String, String> shardPrefixes = new HashMap<>();
+        // (source, json_path) -> answer, or MISS
+        final Map<String, String> lookups = new ConcurrentHashMap<>();
+
+        Snapshot(long version) {
+            this.version = version;
+        }
+    }
+
+    ExportJsonIndex(File runDirectory) {
+        this.runDirectoryPath = normalizeSeparators(runDirectory.getAbsolutePath());
+    }
+
+    /**
+     * Answer a json placeholder query from memory.
+     *
+     * @param source The placeholder source, as written in the layout
+     * @param jsonPath The placeholder json_path
+     * @return The value as FancyMenu would format it, or null if the query must go to disk
+     */
+    public String lookup(String source, String jsonPath) {
+        if (source == null || jsonPath == null) {
+            return null;
+        }
+
+        try {
+            Snapshot current = getSnapshot();
+            if (current == null) {
+                return null;
+            }
+
+            String key = source + '\u0000' + jsonPath;
+            String answer = current.lookups.get(key);
+            if (answer == null) {
+                answer = resolve(current, source, jsonPath);
+                current.lookups.put(key, answer != null ? answer : MISS);
+            }
+            return answer != MISS ? answer : null;
+
+        } catch (Exception e) {
+            LOGGER.error("Failed to answer json placeholder for {} from memory", source, e);
+            return null;
+        }
+    }
+
+    /**
+     * Drop the current snapshot, it is rebuilt on the next lookup.
+     */
+    void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Get the snapshot for the current WorldDataManager version, rebuilding it if outdated.
+     */
+    private Snapshot getSnapshot() throws IOException {
+        WorldDataManager manager = WorldDataManager.getInstance();
+        if (!manager.isInitialized()) {
+            return null;
+        }
+
+        long version = manager.getSnapshotVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.version == version) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.version != version) {
+                current = build(manager.getProjection());
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Flatten all export files for a world snapshot.
+     */
+    private Snapshot build(WorldProjection projection) throws IOException {
+        Snapshot built = new Snapshot(projection.getVersion());
+        List<WorldInfo> worlds = projection.getWorlds();
+        String lastUpdated = projection.getCreatedAt();
+
+        // worlddata.json straight from the projection's per-world value tables
+        Map<String, String> worldData = new HashMap<>();
+        worldData.put("$.count", String.valueOf(worlds.size()));
+        worldData.put("$.lastUpdated", lastUpdated);
+        worldData.put("$.exportVersion", WorldProjection.EXPORT_VERSION);
+        for (Map.Entry<String, String> entry : projection.getAggregateTable().entrySet()) {
+            worldData.put("$.aggregates." + entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < worlds.size(); i++) {
+            String prefix = "$.worlds[" + i + "].";
+            for (Map.Entry<String, String> entry : projection.getValueTable(i).entrySet()) {
+                worldData.put(prefix + entry.getKey(), entry.getValue());
+            }
+        }
+        built.files.put(WorldDataExporter.EXPORT_FILENAME, worldData);
+
+        built.files.put(SHARD_PREFIX + WorldShardExporter.INDEX_FILENAME,
+            flatten(writer -> WorldShardExporter.writeIndex(writer, worlds)));
+        for (int i = 0; i < worlds.size(); i++) {
+            String prefix = "$.worlds[" + i + "]";
+            built.shardPrefixes.put(SHARD_PREFIX + i + ".json", prefix);
+            built.shardPrefixes.put(BY_FOLDER_PREFIX + worlds.get(i).getFolderName() + ".json", prefix);
+        }
+
+        List<EnhancedFormatsExporter.Card> cards = EnhancedFormatsExporter.renderCards(projection);
+        built.files.put(EnhancedFormatsExporter.CARDS_FILENAME,
+            flatten(writer -> EnhancedFormatsExporter.writeCards(writer, cards, lastUpdated)));
+        built.files.put(EnhancedFormatsExporter.TEMPLATE_FILENAME,
+            flatten(writer -> EnhancedFormatsExporter.writeTemplate(writer, projection, lastUpdated)));
+
+        LOGGER.debug("Indexed export files for {} worlds (snapshot version {})", worlds.size(), built.version);
+        return built;
+    }
+
+    /**
+     * Answer a query against a snapshot, or null if it is not one of our plain paths.
+     */
+    private String resolve(Snapshot current, String source, String jsonPath) {
+        String file = toExportFile(source);
+        if (file == null) {
+            return null;
+        }
+
+        String path = canonicalPath(jsonPath);
+        if (path == null) {
+            return null;
+        }
+
+        String shardPrefix = current.shardPrefixes.get(file);
+        if (shardPrefix != null) {
+            file = WorldDataExporter.EXPORT_FILENAME;
+            path = shardPrefix + path.substring(1);
+        }
+
+        Map<String, String> values = current.files.get(file);
+        return values != null ? values.get(path) : null;
+    }
+
+    /**
+     * Map a placeholder source to an export file relative to the assets folder.
+     * Accepts "/config/fancymenu/assets/...", "config/fancymenu/assets/..." and absolute
+     * paths inside the game directory, with either separator.
+     */
+    private String toExportFile(String source) {
+        String normalized = normalizeSeparators(source.trim());
+        if (normalized.startsWith(runDirectoryPath)) {
+            normalized = normalized.substring(runDirectoryPath.length());
+        }
+        while (normalized.startsWith("/") || normalized.startsWith("./")) {
+            normalized = normalized.substring(normalized.charAt(0) == '/' ? 1 : 2);
+        }
+        if (!normalized.startsWith(ASSETS_PREFIX)) {
+            return null;
+        }
+
+        String file = normalized.substring(ASSETS_PREFIX.length());
+        return file.endsWith(".json") ? file : null;
+    }
+
+    private static String normalizeSeparators(String path) {
+        return path.replace('\\', '/');
+    }
+
+    /**
+     * Canonical form of a plain JSON path: "$.worlds[0].name".
+     * Accepts a missing "$", bracket-quoted member names and array indices.
+     * Returns null for anything else (wildcards, deep scans, filters, slices).
+     */
+    static String canonicalPath(String jsonPath) {
+        String path = jsonPath.trim();
+        if (path.startsWith("$")) {
+            path = path.substring(1);
+        }
+        if (!path.isEmpty() && path.charAt(0) != '.' && path.charAt(0) != '[') {
+            path = "." + path;
+        }
+
+        StringBuilder canonical = new StringBuilder("$");
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < path.length() && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                    i++;
+                }
+                String name = path.substring(start, i).trim();
+                if (name.isEmpty() || name.equals("*")) {
+                    return null;
+                }
+                canonical.append('.').append(name);
+
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    return null;
+                }
+                String inner = path.substring(i + 1, end).trim();
+                i = end + 1;
+
+                if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                        && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    String name = inner.substring(1, inner.length() - 1);
+                    if (name.isEmpty() || name.indexOf('.') >= 0 || name.indexOf('[') >= 0) {
+                        return null;
+                    }
+                    canonical.append('.').append(name);
+                } else if (!inner.isEmpty() && inner.chars().allMatch(Character::isDigit)) {
+                    canonical.append('[').append(Integer.parseInt(inner)).append(']');
+                } else {
+                    return null;
+                }
+
+            } else {
+                return null;
+            }
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * Serialize content and flatten its primitive values by canonical path.
+     */
+    private static Map<String, String> flatten(WorldJsonWriter.JsonContent content) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = WorldJsonWriter.create(out, false);
+        content.write(writer);
+        writer.flush();
+
+        Map<String, String> values = new HashMap<>();
+        flatten(JsonParser.parseString(out.toString()), "$", values);
+        return values;
+    }
+
+    private static void flatten(JsonElement element, String path, Map<String, String> values) {
+        if (element.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : ((JsonObject) element).entrySet()) {
+                flatten(entry.getValue(), path + "." + entry.getKey(), values);
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = (JsonArray) element;
+            for (int i = 0; i < array.size(); i++) {
+                flatten(array.get(i), path + "[" + i + "]", values);
+            }
+        } else if (element.isJsonPrimitive()) {
+            // Strings unquoted, numbers as written, booleans as true/false
+            values.put(path, ((JsonPrimitive) element).getAsString());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.fancymenu.worldpanels.exporters;
+
+import com.fancymenu.worldpanels.data.WorldField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the world fields the FancyMenu layouts actually reference.
+ *
+ * Scans the layout files in config/fancymenu/customization (which also hold the
+ * serialized template children) for:
+ * - json placeholders on our export files: the member names in their json_path
+ * - %worldpanels_...% placeholders: the property part
+ * - {...} template placeholders: the placeholder name
+ *
+ * Names are matched against the WorldField JSON keys ignoring case and underscores,
+ * on every run of underscore-separated words ("last_played_relative" matches lastPlayed).
+ * Matching errs on the side of including a field. Results are cached until a layout
+ * file is added, removed or modified; {@link #hasChanged()} checks for that without rescanning.
+ */
+class LayoutFieldScanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LayoutFieldScanner.class);
+
+    private static final Pattern JSON_PLACEHOLDER_PATTERN = Pattern.compile("\\{\"placeholder\":\"json\",\"values\":\\{([^{}]*)\\}\\}");
+    private static final Pattern JSON_VALUE_PATTERN = Pattern.compile("\"(source|json_path)\":\"([^\"]*)\"");
+    private static final Pattern WORLDPANELS_PATTERN = Pattern.compile("worldpanels_[A-Za-z0-9_]+");
+    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\{([A-Za-z0-9_]+)\\}");
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+    private static final int MAX_NAME_WORDS = 6;
+
+    private static final String[] EXPORT_FILES = {
+        WorldDataExporter.EXPORT_FILENAME,
+        WorldShardExporter.SHARD_FOLDER + "/"
+    };
+
+    private final File layoutDirectory;
+    private final Map<String, WorldField> fieldsByName = new HashMap<>();
+
+    // Scan cache: fingerprint of the layout files and the fields found in them
+    private String lastFingerprint;
+    private Set<WorldField> lastFields = Collections.emptySet();
+
+    LayoutFieldScanner(File layoutDirectory) {
+        this.layoutDirectory = layoutDirectory;
+        for (WorldField field : WorldField.all()) {
+            fieldsByName.put(normalize(field.getJsonKey()), field);
+        }
+    }
+
+    /**
+     * Get the fields referenced by the current layouts, rescanning only if a layout changed.
+     *
+     * @return Unmodifiable set of referenced fields, in schema order
+     */
+    synchronized Set<WorldField> scan() {
+        List<File> layouts = listLayouts();
+        String fingerprint = fingerprint(layouts);
+        if (fingerprint.equals(lastFingerprint)) {
+            return lastFields;
+        }
+
+        Set<WorldField> fields = EnumSet.noneOf(WorldField.class);
+        for (File layout : layouts) {
+            try {
+                scanLayout(Files.readString(layout.toPath(), StandardCharsets.UTF_8), fields);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to scan layout {} for world fields", layout.getName(), e);
+            }
+        }
+
+        lastFingerprint = fingerprint;
+        lastFields = Collections.unmodifiableSet(fields);
+        LOGGER.debug("Layouts reference {} of {} world fields: {}", fields.size(), WorldField.all().length, fields);
+        return lastFields;
+    }
+
+    /**
+     * Whether a layout file was added, removed or modified since the last {@link #scan()}.
+     * Only lists the layout directory, the files are not read.
+     */
+    synchronized boolean hasChanged() {
+        return !fingerprint(listLayouts()).equals(lastFingerprint);
+    }
+
+    private List<File> listLayouts() {
+        List<File> layouts = new ArrayList<>();
+        collectLayouts(layoutDirectory, layouts);
+        layouts.sort(null);
+        return layouts;
+    }
+
+    private static String fingerprint(List<File> layouts) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (File layout : layouts) {
+            fingerprint.append(layout.getPath()).append('|').append(layout.lastModified())
+                       .append('|').append(layout.length()).append('\n');
+        }
+        return fingerprint.toString();
+    }
+
+    private void collectLayouts(File directory, List<File> layouts) {
+        File[] files = directory.listFiles();
+        if (files == null) return;
+
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collectLayouts(file, layouts);
+            } else if (file.getName().endsWith(".txt")) {
+                layouts.add(file);
+            }
+        }
+    }
+
+    /**
+     * Collect the fields referenced by one layout file.
+     */
+    private void scanLayout(String content, Set<WorldField> fields) {
+        // Placeholder JSON may have been formatted by hand, drop whitespace around its tokens
+        String compact = content.replaceAll("\\s*([{}:,\"])\\s*", "$1");
+
+        Matcher json = JSON_PLACEHOLDER_PATTERN.matcher(compact);
+        while (json.find()) {
+            String source = null;
+            String jsonPath = null;
+            Matcher value = JSON_VALUE_PATTERN.matcher(json.group(1));
+            while (value.find()) {
+                if (value.group(1).equals("source")) {
+                    source = value.group(2);
+                } else {
+                    jsonPath = value.group(2);
+                }
+            }
+            if (source != null && jsonPath != null && isExportFile(source)) {
+                matchNames(jsonPath, fields);
+            }
+        }
+
+        Matcher worldpanels = WORLDPANELS_PATTERN.matcher(content);
+        while (worldpanels.find()) {
+            matchNames(worldpanels.group(), fields);
+        }
+
+        Matcher template = TEMPLATE_PATTERN.matcher(content);
+        while (template.find()) {
+            matchNames(template.group(1), fields);
+        }
+    }
+
+    private static boolean isExportFile(String source) {
+        String normalized = source.replace('\\', '/');
+        for (String exportFile : EXPORT_FILES) {
+            if (normalized.contains(exportFile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Match every name in the text, and every run of its underscore-separated words,
+     * against the field keys.
+     */
+    private void matchNames(String text, Set<WorldField> fields) {
+        Matcher name = NAME_PATTERN.matcher(text);
+        while (name.find()) {
+            String[] words = name.group().toLowerCase().split("_+");
+            for (int start = 0; start < words.length; start++) {
+                StringBuilder joined = new StringBuilder();
+                for (int end = start; end < words.length && end - start < MAX_NAME_WORDS; end++) {
+                    joined.append(words[end]);
+                    WorldField field = fieldsByName.get(joined.toString());
+                    if (field != null) {
+                        fields.add(field);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase();
+    }
+}
@@ -1,11 +1,11 @@
 package com.fancymenu.worldpanels.exporters;
 
-import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.data.WorldField;
 import com.fancymenu.worldpanels.managers.WorldDataManager;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.fancymenu.worldpanels.managers.WorldProjection;
+import com.fancymenu.worldpanels.placeholders.ExportFileCache;
+import com.fancymenu.worldpanels.utils.FileUtils;
+import com.google.gson.stream.JsonWriter;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.MinecraftClient;
@@ -13,11 +13,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -25,6 +30,30 @@ import java.util.concurrent.TimeUnit;
  * 
  * Creates JSON files that can be read by FancyMenu's JSON placeholder:
  * {"placeholder":"json","values":{"source":"/config/fancymenu/assets/worlddata.json","json_path":"$.worlds[0].name"}}
+ * 
+ * and small per-world files for cheaper lookups (see {@link WorldShardExporter}):
+ * {"placeholder":"json","values":{"source":"/config/fancymenu/assets/worlds/0.json","json_path":"$.name"}}
+ * 
+ * worldcards.json and worldtemplate.json are written in the same pass (see {@link EnhancedFormatsExporter}).
+ * 
+ * With ExportMode.PROJECTED (-Dfancymenu.worldpanels.exportMode=projected), worlddata.json and
+ * the shards only contain the fields the FancyMenu layouts reference (see {@link LayoutFieldScanner}),
+ * listed in a "fields" header. In that mode the layout files are checked for changes every few seconds,
+ * and an edit triggers an export; a newly referenced field is answered from memory in game right away.
+ * 
+ * In game, json placeholders on any of these files are answered from memory (see {@link ExportJsonIndex}),
+ * so the files on disk are only needed by external readers and can be turned off with
+ * -Dfancymenu.worldpanels.writeExportFiles=false.
+ * 
+ * Exports are driven by WorldDataManager change notifications: bursts of changes (e.g. while
+ * a world is being saved) are coalesced within a debounce window into a single export, and
+ * all exports run on one export thread, so two exports never run at the same time.
+ * 
+ * The JSON is streamed from the manager's field projection of the snapshot (see
+ * {@link WorldProjection}), so world fields are formatted once per change and shared with
+ * the map view and the in-memory json index. Exports are skipped while the WorldDataManager snapshot version is
+ * unchanged, and each file is only rewritten when its payload hashes differently from the last written one
+ * (lastUpdated is not hashed), so an idle client does not write to disk.
  */
 @Environment(EnvType.CLIENT)
 public class WorldDataExporter {
@@ -32,16 +61,51 @@ public class WorldDataExporter {
     private static final Logger LOGGER = LoggerFactory.getLogger(WorldDataExporter.class);
     private static WorldDataExporter INSTANCE;
     
-    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WorldPanels-Export");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Runnable changeListener = this::onWorldsChanged;
+    private final Object scheduleLock = new Object();
+    private ScheduledFuture<?> pendingExport;
+    private volatile long debounceMs = Long.getLong("fancymenu.worldpanels.exportDebounceMs", DEFAULT_DEBOUNCE_MS);
+    private volatile boolean writeExportFiles = !"false".equals(System.getProperty("fancymenu.worldpanels.writeExportFiles"));
+    private volatile ExportMode exportMode = ExportMode.fromProperty(System.getProperty("fancymenu.worldpanels.exportMode"));
     
     private File exportDirectory;
     private File worldDataFile;
-    private boolean initialized = false;
+    private WorldShardExporter shardExporter;
+    private EnhancedFormatsExporter enhancedExporter;
+    private ExportJsonIndex jsonIndex;
+    private LayoutFieldScanner fieldScanner;
+    private volatile boolean initialized = false;
+    
+    // Change detection
+    private long lastExportedVersion = -1;
+    private ExportMode lastExportedMode;
+    private Set<WorldField> lastExportedFields;
+    private byte[] lastContentHash;
+    private volatile boolean layoutsChanged = false;
     
     // Configuration
-    private static final long EXPORT_INTERVAL_MS = 5000; // 5 seconds
-    private static final String EXPORT_FILENAME = "worlddata.json";
+    private static final long DEFAULT_DEBOUNCE_MS = 1000; // 1 second
+    private static final long LAYOUT_CHECK_INTERVAL_MS = 5000; // 5 seconds
+    static final String EXPORT_FILENAME = "worlddata.json";
+    
+    /**
+     * Which world fields the export files contain.
+     */
+    public enum ExportMode {
+        /** Every WorldField (default). */
+        FULL,
+        /** Only the fields referenced by the FancyMenu layouts, plus a "fields" header. */
+        PROJECTED;
+        
+        static ExportMode fromProperty(String value) {
+            return "projected".equalsIgnoreCase(value) ? PROJECTED : FULL;
+        }
+    }
     
     private WorldDataExporter() {}
     
@@ -69,6 +133,10 @@ public class WorldDataExporter {
             
             exportDirectory = assetsDir;
             worldDataFile = new File(exportDirectory, EXPORT_FILENAME);
+            shardExporter = new WorldShardExporter(exportDirectory);
+            enhancedExporter = new EnhancedFormatsExporter(exportDirectory);
+            jsonIndex = new ExportJsonIndex(client.runDirectory);
+            fieldScanner = new LayoutFieldScanner(new File(fancyMenuDir, "customization"));
             
             // Ensure directory exists
             if (!exportDirectory.exists()) {
@@ -81,8 +149,12 @@ public class WorldDataExporter {
             // Initial export
             exportWorldData();
             
-            // Schedule periodic exports
-            executor.scheduleAtFixedRate(this::exportWorldData, EXPORT_INTERVAL_MS, EXPORT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            // Export whenever the world data changes
+            WorldDataManager.getInstance().addChangeListener(changeListener);
+            
+            // Projected exports also depend on the layouts, which change without a world change
+            executor.scheduleWithFixedDelay(this::checkLayouts, LAYOUT_CHECK_INTERVAL_MS,
+                LAYOUT_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
             
             initialized = true;
             
@@ -92,49 +164,129 @@ public class WorldDataExporter {
         }
     }
     
+    /**
+     * Called by the WorldDataManager after the world cache changed.
+     */
+    private void onWorldsChanged() {
+        scheduleExport(debounceMs);
+    }
+    
+    /**
+     * Schedule an export on the export thread, coalescing with an already pending one.
+     * A pending export is only moved forward (never delayed), so a burst of changes
+     * produces one export at the end of the first debounce window.
+     */
+    private void scheduleExport(long delayMs) {
+        synchronized (scheduleLock) {
+            if (executor.isShutdown()) {
+                return;
+            }
+            
+            if (pendingExport != null) {
+                if (pendingExport.getDelay(TimeUnit.MILLISECONDS) <= delayMs) {
+                    return;
+                }
+                pendingExport.cancel(false);
+            }
+            
+            pendingExport = executor.schedule(this::runScheduledExport, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Schedule an export if a layout file changed since the last scan (projected mode only).
+     */
+    private void checkLayouts() {
+        try {
+            if (exportMode == ExportMode.PROJECTED && writeExportFiles && fieldScanner.hasChanged()) {
+                layoutsChanged = true;
+                scheduleExport(debounceMs);
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Failed to check layouts for changes", e);
+        }
+    }
+    
+    private void runScheduledExport() {
+        // Changes from now on need a new export, since this one may already have read the worlds
+        synchronized (scheduleLock) {
+            pendingExport = null;
+        }
+        exportWorldData();
+    }
+    
+    /**
+     * Set the debounce window for change-driven exports.
+     */
+    public void setDebounceMs(long debounceMs) {
+        this.debounceMs = Math.max(0, debounceMs);
+    }
+    
+    public long getDebounceMs() {
+        return debounceMs;
+    }
+    
     /**
      * Export world data to JSON file.
      */
-    private void exportWorldData() {
+    private synchronized void exportWorldData() {
         try {
-            if (!WorldDataManager.getInstance().isInitialized()) {
+            WorldDataManager manager = WorldDataManager.getInstance();
+            if (!manager.isInitialized() || !writeExportFiles) {
                 return;
             }
             
-            List<WorldInfo> worlds = WorldDataManager.getInstance().getWorlds();
-            
-            // Create JSON structure
-            JsonObject root = new JsonObject();
+            // One projection per snapshot version, shared with the map view and the json index
+            long version = manager.getSnapshotVersion();
+            ExportMode mode = exportMode;
+            // A deleted card or template file is rewritten too, not only worlddata.json
+            boolean fileExists = worldDataFile.exists() && enhancedExporter.filesExist();
+            if (version == lastExportedVersion && mode == lastExportedMode && !layoutsChanged && fileExists) {
+                return;
+            }
+            layoutsChanged = false;
             
-            // Metadata
-            root.addProperty("count", worlds.size());
-            root.addProperty("lastUpdated", Instant.now().toString());
-            root.addProperty("exportVersion", "1.0.0");
+            // Fields to export: all, or only those the layouts reference
+            Set<WorldField> fields = mode == ExportMode.PROJECTED ? fieldScanner.scan() : null;
             
-            // Worlds array
-            JsonArray worldsArray = new JsonArray();
+            WorldProjection projection = manager.getProjection();
             
-            for (int i = 0; i < worlds.size(); i++) {
-                WorldInfo world = worlds.get(i);
-                JsonObject worldObj = createWorldJson(world, i);
-                worldsArray.add(worldObj);
+            // Hash every world's JSON once; the content hash is derived from the per-world hashes
+            List<byte[]> worldHashes = new ArrayList<>(projection.size());
+            for (int i = 0; i < projection.size(); i++) {
+                byte[] json = fields != null ? projection.getWorldJson(i, fields) : projection.getWorldJson(i);
+                worldHashes.add(WorldJsonWriter.hash(json));
             }
             
-            root.add("worlds", worldsArray);
+            // The aggregates are part of worlddata.json too, and change with fields a projected export leaves out
+            List<byte[]> contentHashes = new ArrayList<>(worldHashes);
+            contentHashes.add(WorldJsonWriter.hash(projection::writeAggregates));
+            byte[] contentHash = WorldJsonWriter.combine(contentHashes);
             
-            // Write to file atomically
-            File tempFile = new File(worldDataFile.getParent(), EXPORT_FILENAME + ".tmp");
-            try (FileWriter writer = new FileWriter(tempFile)) {
-                gson.toJson(root, writer);
+            // Skip the write if the payload is identical to the last export
+            if (worldDataFile.exists() && Arrays.equals(contentHash, lastContentHash) && Objects.equals(fields, lastExportedFields)) {
+                LOGGER.debug("World data unchanged, skipping {}", worldDataFile.getName());
+            } else {
+                writeWorldDataFile(projection, fields);
+                lastContentHash = contentHash;
+                LOGGER.debug("Exported data for {} worlds to {}", projection.size(), worldDataFile.getName());
             }
             
-            // Atomic rename
-            if (worldDataFile.exists()) {
-                worldDataFile.delete();
-            }
-            tempFile.renameTo(worldDataFile);
+            // The other files are hashed one by one and only written if they changed, so they are
+            // exported even when worlddata.json is skipped (cards show fields a projection may leave out)
+            
+            // Per-world shards for cheap json placeholder lookups
+            shardExporter.export(projection, fields, worldHashes);
             
-            LOGGER.debug("Exported data for {} worlds to {}", worlds.size(), worldDataFile.getName());
+            // Card and template formats from the same snapshot
+            enhancedExporter.export(projection);
+            
+            // Placeholder JSON fallback re-reads the files that changed
+            ExportFileCache.invalidate();
+            
+            lastExportedVersion = projection.getVersion();
+            lastExportedMode = mode;
+            lastExportedFields = fields;
             
         } catch (Exception e) {
             LOGGER.error("Failed to export world data", e);
@@ -142,69 +294,80 @@ public class WorldDataExporter {
     }
     
     /**
-     * Create JSON object for a single world.
+     * Stream worlddata.json to a temp file and atomically publish it.
      */
-    private JsonObject createWorldJson(WorldInfo world, int index) {
-        JsonObject worldObj = new JsonObject();
-        
-        // Basic info
-        worldObj.addProperty("index", index);
-        worldObj.addProperty("name", world.getWorldName());
-        worldObj.addProperty("folder", world.getFolderName());
-        worldObj.addProperty("path", world.getFolderPath());
-        
-        // Game info
-        worldObj.addProperty("gamemode", world.getGameModeDisplay());
-        worldObj.addProperty("gamemodeRaw", world.getGameMode());
-        worldObj.addProperty("difficulty", world.getDifficultyDisplay());
-        worldObj.addProperty("difficultyRaw", world.getDifficulty());
-        worldObj.addProperty("version", world.getVersion());
-        worldObj.addProperty("seed", world.getSeed());
-        worldObj.addProperty("hardcore", world.isHardcore());
-        worldObj.addProperty("cheats", world.hasCheats());
-        
-        // Timestamps
-        worldObj.addProperty("lastPlayed", world.getFormattedLastPlayed());
-        worldObj.addProperty("lastPlayedRaw", world.getLastPlayed());
-        worldObj.addProperty("created", world.getFormattedCreationTime());
-        worldObj.addProperty("createdRaw", world.getCreationTime());
-        
-        // Status
-        worldObj.addProperty("inUse", world.isInUse());
-        worldObj.addProperty("status", world.isInUse() ? "In Use" : "Available");
-        worldObj.addProperty("hasIcon", world.hasIcon());
-        worldObj.addProperty("size", world.getFormattedWorldSize());
-        worldObj.addProperty("sizeBytes", world.getWorldSizeBytes());
-        
-        // World state
-        worldObj.addProperty("weather", world.getWeatherDisplay());
-        worldObj.addProperty("timeOfDay", world.getTimeOfDayDisplay());
-        worldObj.addProperty("raining", world.isRaining());
-        worldObj.addProperty("thundering", world.isThundering());
-        worldObj.addProperty("worldTime", world.getWorldTime());
-        worldObj.addProperty("dayTime", world.getDayTime());
-        
-        // Paths
-        if (world.getIconPath() != null) {
-            worldObj.addProperty("iconPath", world.getIconPath());
-        } else {
-            worldObj.addProperty("iconPath", "");
+    private void writeWorldDataFile(WorldProjection projection, Set<WorldField> fields) throws IOException {
+        FileUtils.writeAtomically(worldDataFile.toPath(), out -> {
+            JsonWriter writer = WorldJsonWriter.create(out, true);
+            writer.beginObject();
+            
+            // Metadata
+            writer.name("count").value(projection.size());
+            writer.name("lastUpdated").value(Instant.now().toString());
+            writer.name("exportVersion").value(WorldProjection.EXPORT_VERSION);
+            
+            // Library-wide aggregates (total size, count per game mode, ...)
+            writer.name("aggregates");
+            projection.writeAggregates(writer);
+            
+            // Schema header, so readers know which fields a projected export contains
+            if (fields != null) {
+                writer.name("exportMode").value("projected");
+                writer.name("fields");
+                writer.beginArray();
+                for (WorldField field : fields) {
+                    writer.value(field.getJsonKey());
+                }
+                writer.endArray();
+            }
+            
+            // Worlds array
+            writer.name("worlds");
+            WorldJsonWriter.writeWorlds(writer, projection, fields);
+            
+            writer.endObject();
+            writer.flush();
+        });
+    }
+    
+    /**
+     * Set which fields the export files contain. Re-exports immediately if changed.
+     */
+    public void setExportMode(ExportMode exportMode) {
+        if (this.exportMode != exportMode) {
+            this.exportMode = exportMode;
+            forceExport();
         }
-        
-        return worldObj;
+    }
+    
+    public ExportMode getExportMode() {
+        return exportMode;
+    }
+    
+    /**
+     * Enable or disable writing the export files. In-game json placeholders keep
+     * working from memory either way.
+     */
+    public void setWriteExportFiles(boolean writeExportFiles) {
+        this.writeExportFiles = writeExportFiles;
+        if (writeExportFiles) {
+            forceExport();
+        }
+    }
+    
+    public boolean isWriteExportFiles() {
+        return writeExportFiles;
     }
     
     /**
-     * Export world data in multiple formats optimized for FancyMenu
+     * Export world data in multiple formats optimized for FancyMenu.
+     * worlddata.json, the per-world shards, worldcards.json and worldtemplate.json are
+     * all written by the same export pass, each only if its content changed.
      */
     public void exportEnhancedFormats() {
         try {
-            List<WorldInfo> worlds = WorldDataManager.getInstance().getWorlds();
-            
-            // Export standard format (existing functionality)
             exportWorldData();
-            
-            LOGGER.info("Enhanced world data export completed");
+            LOGGER.debug("Enhanced world data export completed");
             
         } catch (Exception e) {
             LOGGER.error("Failed to export enhanced world data formats", e);
@@ -212,11 +375,12 @@ public class WorldDataExporter {
     }
     
     /**
-     * Force immediate export.
+     * Request an immediate export. Runs on the export thread without debounce and
+     * coalesces with an already pending export.
      */
     public void forceExport() {
         if (initialized) {
-            exportWorldData();
+            scheduleExport(0);
         }
     }
     
@@ -224,8 +388,21 @@ public class WorldDataExporter {
      * Shutdown the exporter.
      */
     public void shutdown() {
+        try {
+            WorldDataManager.getInstance().removeChangeListener(changeListener);
+        } catch (IllegalStateException e) {
+            // Manager already gone
+        }
+        
         if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
+            // Drop the pending debounced export, the final export below flushes it
+            synchronized (scheduleLock) {
+                if (pendingExport != null) {
+                    pendingExport.cancel(false);
+                    pendingExport = null;
+                }
+                executor.shutdown();
+            }
             try {
                 if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
                     executor.shutdownNow();
@@ -242,6 +419,10 @@ public class WorldDataExporter {
             LOGGER.info("Final world data export completed");
         }
         
+        if (jsonIndex != null) {
+            jsonIndex.invalidate();
+        }
+        
         initialized = false;
         LOGGER.info("WorldDataExporter shutdown complete");
     }
@@ -260,6 +441,14 @@ public class WorldDataExporter {
         return worldDataFile != null ? worldDataFile.getAbsolutePath() : null;
     }
     
+    /**
+     * Get the in-memory index of the export files, or null if the exporter is not running.
+     */
+    public static ExportJsonIndex getActiveJsonIndex() {
+        WorldDataExporter exporter = INSTANCE;
+        return exporter != null && exporter.initialized ? exporter.jsonIndex : null;
+    }
+    
     /**
      * Check if the exporter is initialized.
      */
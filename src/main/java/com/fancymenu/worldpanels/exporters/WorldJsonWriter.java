@@ -0,0 +1,118 @@
+package com.fancymenu.worldpanels.exporters;
+
+import com.fancymenu.worldpanels.data.WorldField;
+import com.fancymenu.worldpanels.managers.WorldProjection;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming JSON serialization of world data, shared by all export files.
+ * 
+ * World objects come from the shared {@link WorldProjection} (see WorldField for the
+ * schema) and are streamed with a Gson JsonWriter, no intermediate JsonObject tree is
+ * built. Content hashes are computed by streaming the same JSON into a digest.
+ */
+final class WorldJsonWriter {
+    
+    private static final int HASH_BUFFER_SIZE = 16 * 1024;
+    
+    /**
+     * Streams a piece of JSON to a writer.
+     */
+    @FunctionalInterface
+    interface JsonContent {
+        void write(JsonWriter writer) throws IOException;
+    }
+    
+    private WorldJsonWriter() {}
+    
+    /**
+     * Create a JSON writer matching Gson's default output
+     * (HTML-safe escaping, null members omitted).
+     */
+    static JsonWriter create(Writer out, boolean prettyPrint) {
+        JsonWriter writer = new JsonWriter(out);
+        if (prettyPrint) {
+            writer.setIndent("  ");
+        }
+        writer.setHtmlSafe(true);
+        writer.setSerializeNulls(false);
+        return writer;
+    }
+    
+    /**
+     * SHA-256 of the compact JSON produced by the given content.
+     * The JSON is streamed into the digest, nothing is buffered.
+     */
+    static byte[] hash(JsonContent content) throws IOException {
+        MessageDigest digest = newDigest();
+        try (JsonWriter writer = create(new BufferedWriter(new OutputStreamWriter(
+                new DigestOutputStream(OutputStream.nullOutputStream(), digest), StandardCharsets.UTF_8), HASH_BUFFER_SIZE), false)) {
+            content.write(writer);
+        }
+        return digest.digest();
+    }
+    
+    /**
+     * Combine several content hashes into one (order sensitive).
+     */
+    static byte[] combine(List<byte[]> hashes) {
+        MessageDigest digest = newDigest();
+        for (byte[] hash : hashes) {
+            digest.update(hash);
+        }
+        return digest.digest();
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java runtime is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * Serialize content to compact UTF-8 JSON.
+     */
+    static byte[] serialize(JsonContent content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try (JsonWriter writer = create(new OutputStreamWriter(out, StandardCharsets.UTF_8), false)) {
+            content.write(writer);
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * SHA-256 of already serialized content.
+     */
+    static byte[] hash(byte[] content) {
+        return newDigest().digest(content);
+    }
+    
+    /**
+     * Write the worlds array of a projection.
+     *
+     * @param fields The fields to write per world, or null for all
+     */
+    static void writeWorlds(JsonWriter writer, WorldProjection projection, Set<WorldField> fields) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < projection.size(); i++) {
+            projection.writeWorld(writer, i, fields);
+        }
+        writer.endArray();
+    }
+}
@@ -0,0 +1,146 @@
+package com.fancymenu.worldpanels.exporters;
+
+import com.fancymenu.worldpanels.data.WorldField;
+import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.managers.WorldProjection;
+import com.fancymenu.worldpanels.utils.FileUtils;
+import com.google.gson.stream.JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes one small compact JSON file per world next to the aggregate worlddata.json.
+ *
+ * Layout (relative to the FancyMenu assets folder):
+ * - worlds/index.json: world count plus index/folder/name of every world
+ * - worlds/&lt;index&gt;.json: one world, e.g. json_path "$.name" on worlds/0.json
+ * - worlds/by-folder/&lt;folder&gt;.json: the same world, addressed by its folder name
+ *
+ * A FancyMenu json placeholder on a shard only parses that one world, independent of
+ * the library size. Shards are only rewritten when their content hash changed, and
+ * shards of removed worlds are deleted.
+ */
+class WorldShardExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorldShardExporter.class);
+
+    static final String SHARD_FOLDER = "worlds";
+    static final String BY_FOLDER = "by-folder";
+    static final String INDEX_FILENAME = "index.json";
+
+    private final File shardDirectory;
+    private final File byFolderDirectory;
+
+    // Content hash of every shard written so far, keyed by file
+    private final Map<File, byte[]> shardHashes = new HashMap<>();
+
+    WorldShardExporter(File exportDirectory) {
+        this.shardDirectory = new File(exportDirectory, SHARD_FOLDER);
+        this.byFolderDirectory = new File(shardDirectory, BY_FOLDER);
+    }
+
+    /**
+     * Write changed shards and delete stale ones.
+     *
+     * @param projection The world snapshot, in export order
+     * @param fields The fields to write per world, or null for all
+     * @param worldHashes Content hash of each world's JSON (same order as the projection)
+     */
+    void export(WorldProjection projection, Set<WorldField> fields, List<byte[]> worldHashes) throws IOException {
+        if (!byFolderDirectory.exists()) {
+            byFolderDirectory.mkdirs();
+        }
+
+        Set<File> current = new HashSet<>();
+        int written = 0;
+
+        List<WorldInfo> worlds = projection.getWorlds();
+        for (int i = 0; i < worlds.size(); i++) {
+            byte[] hash = worldHashes.get(i);
+            byte[] json = fields != null ? projection.getWorldJson(i, fields) : projection.getWorldJson(i);
+
+            File indexShard = new File(shardDirectory, i + ".json");
+            File folderShard = new File(byFolderDirectory, worlds.get(i).getFolderName() + ".json");
+            current.add(indexShard);
+            current.add(folderShard);
+
+            if (writeShard(indexShard, hash, json)) written++;
+            if (writeShard(folderShard, hash, json)) written++;
+        }
+
+        // Index of all shards
+        File indexFile = new File(shardDirectory, INDEX_FILENAME);
+        current.add(indexFile);
+        byte[] indexJson = WorldJsonWriter.serialize(writer -> writeIndex(writer, worlds));
+        if (writeShard(indexFile, WorldJsonWriter.hash(indexJson), indexJson)) written++;
+
+        int removed = deleteStaleShards(shardDirectory, current) + deleteStaleShards(byFolderDirectory, current);
+
+        if (written > 0 || removed > 0) {
+            LOGGER.debug("World shards updated: {} written, {} removed", written, removed);
+        }
+    }
+
+    /**
+     * Write a shard unless the file already holds the same content.
+     *
+     * @return true if the shard was written
+     */
+    private boolean writeShard(File shard, byte[] hash, byte[] json) throws IOException {
+        if (Arrays.equals(shardHashes.get(shard), hash) && shard.exists()) {
+            return false;
+        }
+
+        FileUtils.writeAtomically(shard.toPath(), json);
+        shardHashes.put(shard, hash);
+        return true;
+    }
+
+    /**
+     * Write the shard index: count plus index, folder and name of every world.
+     */
+    static void writeIndex(JsonWriter writer, List<WorldInfo> worlds) throws IOException {
+        writer.beginObject();
+        writer.name("count").value(worlds.size());
+        writer.name("worlds");
+        writer.beginArray();
+        for (int i = 0; i < worlds.size(); i++) {
+            WorldInfo world = worlds.get(i);
+            writer.beginObject();
+            writer.name("index").value(i);
+            writer.name("folder").value(world.getFolderName());
+            writer.name("name").value(world.getWorldName());
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    /**
+     * Delete .json shards in a directory that are not part of the current export.
+     */
+    private int deleteStaleShards(File directory, Set<File> current) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) return 0;
+
+        int removed = 0;
+        for (File file : files) {
+            if (!current.contains(file)) {
+                if (file.delete()) {
+                    removed++;
+                }
+                shardHashes.remove(file);
+            }
+        }
+        return removed;
+    }
+}
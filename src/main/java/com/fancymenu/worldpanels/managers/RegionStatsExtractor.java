@@ -0,0 +1,172 @@
+package com.fancymenu.worldpanels.managers;
+
+import com.fancymenu.worldpanels.data.RegionStats;
+import com.fancymenu.worldpanels.data.WorldDimension;
+import com.fancymenu.worldpanels.utils.RegionFileUtils;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slow-tier extractor that builds {@link RegionStats} from region file headers.
+ *
+ * Features:
+ * - Reads only the 8 KiB header of each .mca file (see {@link RegionFileUtils})
+ * - Per region file cache keyed by modification time and size, so unchanged files are never re-read;
+ *   entries of files that failed to read or no longer exist are dropped
+ * - Changed files are read in parallel on a small dedicated pool
+ */
+@Environment(EnvType.CLIENT)
+public class RegionStatsExtractor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegionStatsExtractor.class);
+
+    private static final int READER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private final Map<Path, CachedHeader> headerCache = new ConcurrentHashMap<>();
+    private final ExecutorService readers = Executors.newFixedThreadPool(READER_THREADS);
+
+    /**
+     * Cached header summary of one region file, valid while mtime and size are unchanged.
+     */
+    private static final class CachedHeader {
+        final long lastModified;
+        final long size;
+        final RegionFileUtils.HeaderSummary summary;
+
+        CachedHeader(long lastModified, long size, RegionFileUtils.HeaderSummary summary) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.summary = summary;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return lastModified == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
+
+    /**
+     * Summarize all region files of a world (blocking; call from a background thread).
+     */
+    public RegionStats extract(File worldFolder) {
+        WorldDimension[] dimensions = WorldDimension.values();
+        int[] chunkCounts = new int[dimensions.length];
+        int regionFileCount = 0;
+        long newestTimestamp = 0;
+        int readCount = 0;
+
+        Set<Path> seen = new HashSet<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        for (WorldDimension dimension : dimensions) {
+            Path regionDir = new File(dimension.resolve(worldFolder), "region").toPath();
+            if (!Files.isDirectory(regionDir)) continue;
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(regionDir, "*.mca")) {
+                for (Path regionFile : stream) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(regionFile, BasicFileAttributes.class);
+                    } catch (IOException e) {
+                        LOGGER.debug("Failed to stat region file: {}", regionFile, e);
+                        continue;
+                    }
+
+                    seen.add(regionFile);
+                    CachedHeader cached = headerCache.get(regionFile);
+                    if (cached == null || !cached.matches(attributes)) {
+                        pending.add(CompletableFuture.runAsync(() -> readHeader(regionFile, attributes), readers));
+                        readCount++;
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Failed to list region folder: {}", regionDir, e);
+            }
+        }
+
+        // Wait for the changed headers to be read in parallel
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
+        // Region files deleted from this world (e.g. trimmed by a tool) must not be counted again
+        Path root = worldFolder.toPath();
+        headerCache.keySet().removeIf(path -> path.startsWith(root) && !seen.contains(path));
+
+        for (Path regionFile : seen) {
+            CachedHeader cached = headerCache.get(regionFile);
+            if (cached == null) continue;
+
+            WorldDimension dimension = dimensionOf(worldFolder, regionFile);
+            chunkCounts[dimension.ordinal()] += cached.summary.getChunkCount();
+            newestTimestamp = Math.max(newestTimestamp, cached.summary.getNewestTimestamp());
+            regionFileCount++;
+        }
+
+        LOGGER.debug("Region stats for {}: {} region files, {} re-read", worldFolder.getName(), regionFileCount, readCount);
+        return new RegionStats(chunkCounts, regionFileCount, newestTimestamp);
+    }
+
+    /**
+     * Read and cache a single region header.
+     */
+    private void readHeader(Path regionFile, BasicFileAttributes attributes) {
+        try {
+            RegionFileUtils.HeaderSummary summary = RegionFileUtils.readHeader(regionFile);
+            headerCache.put(regionFile, new CachedHeader(attributes.lastModifiedTime().toMillis(), attributes.size(), summary));
+        } catch (IOException e) {
+            // The old summary belongs to the previous file contents; the file is skipped until it reads again
+            headerCache.remove(regionFile);
+            LOGGER.debug("Failed to read region header: {}", regionFile, e);
+        }
+    }
+
+    /**
+     * Determine the dimension a region file belongs to from its path.
+     */
+    private WorldDimension dimensionOf(File worldFolder, Path regionFile) {
+        Path relative = worldFolder.toPath().relativize(regionFile);
+        WorldDimension dimension = WorldDimension.fromFolderName(relative.getName(0).toString());
+        return dimension != null ? dimension : WorldDimension.OVERWORLD;
+    }
+
+    /**
+     * Drop cached headers of a world that no longer exists.
+     */
+    public void evict(File worldFolder) {
+        Path root = worldFolder.toPath();
+        headerCache.keySet().removeIf(path -> path.startsWith(root));
+    }
+
+    /**
+     * Shutdown the reader pool and clear the header cache.
+     */
+    public void shutdown() {
+        readers.shutdown();
+        try {
+            if (!readers.awaitTermination(2, TimeUnit.SECONDS)) {
+                readers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            readers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        headerCache.clear();
+    }
+}
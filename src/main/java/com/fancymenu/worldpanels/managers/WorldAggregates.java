@@ -0,0 +1,216 @@
+package com.fancymenu.worldpanels.managers;
+
+import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.utils.FormatUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Library-wide values over all worlds (total size, count per game mode, newest world, ...),
+ * maintained incrementally.
+ *
+ * The WorldDataManager passes every add, update and remove of a world to
+ * {@link #update(WorldInfo, WorldInfo)} from inside the world cache operation (so concurrent
+ * changes of one world are applied in cache order) and before it bumps the snapshot version, so reading an
+ * aggregate never walks the world list. Newest and oldest (by creation time) are kept in a
+ * sorted map of creation times, updated in O(log n) per change and read in O(1).
+ *
+ * Total playtime is not available: it is stored in the per-player stats files, which are not scanned.
+ */
+public final class WorldAggregates {
+
+    private static final Set<String> GAME_MODES = Set.of("survival", "creative", "adventure", "spectator");
+    private static final Set<String> DIFFICULTIES = Set.of("peaceful", "easy", "normal", "hard");
+
+    private int count;
+    private long totalSizeBytes;
+    private int hardcoreCount;
+    private final Map<String, Integer> gameModeCounts = new TreeMap<>();
+    private final Map<String, Integer> difficultyCounts = new TreeMap<>();
+
+    // Creation time -> worlds created at that time, by folder name (worlds with unknown creation time are left out)
+    private final TreeMap<Long, TreeMap<String, WorldInfo>> byCreationTime = new TreeMap<>();
+    private WorldInfo newest;
+    private WorldInfo oldest;
+
+    // Map view, rebuilt on first use after a change
+    private Map<String, Object> mapView;
+
+    WorldAggregates() {}
+
+    /**
+     * Apply a change of the world cache.
+     *
+     * @param previous The world before the change, or null if it was added
+     * @param current The world after the change, or null if it was removed
+     */
+    synchronized void update(WorldInfo previous, WorldInfo current) {
+        if (previous == current) return;
+
+        if (previous != null) apply(previous, -1);
+        if (current != null) apply(current, 1);
+
+        Map.Entry<Long, TreeMap<String, WorldInfo>> last = byCreationTime.lastEntry();
+        Map.Entry<Long, TreeMap<String, WorldInfo>> first = byCreationTime.firstEntry();
+        newest = last != null ? last.getValue().firstEntry().getValue() : null;
+        oldest = first != null ? first.getValue().firstEntry().getValue() : null;
+        mapView = null;
+    }
+
+    synchronized void clear() {
+        count = 0;
+        totalSizeBytes = 0;
+        hardcoreCount = 0;
+        gameModeCounts.clear();
+        difficultyCounts.clear();
+        byCreationTime.clear();
+        newest = null;
+        oldest = null;
+        mapView = null;
+    }
+
+    private void apply(WorldInfo world, int sign) {
+        count += sign;
+        totalSizeBytes += sign * world.getWorldSizeBytes();
+        if (world.isHardcore()) {
+            hardcoreCount += sign;
+        }
+        adjust(gameModeCounts, key(world.getGameMode()), sign);
+        adjust(difficultyCounts, key(world.getDifficulty()), sign);
+
+        long created = world.getCreationTime();
+        if (created > 0) {
+            if (sign > 0) {
+                byCreationTime.computeIfAbsent(created, time -> new TreeMap<>()).put(world.getFolderName(), world);
+            } else {
+                TreeMap<String, WorldInfo> worlds = byCreationTime.get(created);
+                if (worlds != null) {
+                    worlds.remove(world.getFolderName());
+                    if (worlds.isEmpty()) {
+                        byCreationTime.remove(created);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void adjust(Map<String, Integer> counts, String key, int sign) {
+        counts.merge(key, sign, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static String key(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "unknown";
+    }
+
+    public synchronized int getCount() { return count; }
+    public synchronized long getTotalSizeBytes() { return totalSizeBytes; }
+    public synchronized int getHardcoreCount() { return hardcoreCount; }
+
+    /**
+     * Number of worlds with a game mode ("survival", "creative", ...), ignoring case.
+     */
+    public synchronized int getGameModeCount(String gameMode) {
+        return gameModeCounts.getOrDefault(key(gameMode), 0);
+    }
+
+    /**
+     * Number of worlds with a difficulty ("peaceful", "easy", ...), ignoring case.
+     */
+    public synchronized int getDifficultyCount(String difficulty) {
+        return difficultyCounts.getOrDefault(key(difficulty), 0);
+    }
+
+    /**
+     * Most recently created world, or null if no world has a known creation time.
+     */
+    public synchronized WorldInfo getNewest() { return newest; }
+
+    /**
+     * Earliest created world, or null if no world has a known creation time.
+     */
+    public synchronized WorldInfo getOldest() { return oldest; }
+
+    /**
+     * Resolve an aggregate placeholder type: count, total_size, total_size_bytes, hardcore_count,
+     * newest, oldest, &lt;gamemode&gt;_count (survival_count) or &lt;difficulty&gt;_count (hard_count).
+     *
+     * @param type Lowercase aggregate type
+     * @return The value, or null if the type is unknown
+     */
+    public String getAggregate(String type) {
+        return resolve(toMap(), type);
+    }
+
+    /**
+     * Resolve an aggregate placeholder type against a map view taken earlier with {@link #toMap()},
+     * so a pinned snapshot answers from its own values rather than the live ones.
+     *
+     * @param view The map view
+     * @param type Lowercase aggregate type
+     * @return The value, or null if the type is unknown
+     */
+    @SuppressWarnings("unchecked")
+    public static String resolve(Map<String, Object> view, String type) {
+        switch (type) {
+            case "count":
+                return String.valueOf(view.get("count"));
+            case "total_size":
+                return String.valueOf(view.get("totalSize"));
+            case "total_size_bytes":
+                return String.valueOf(view.get("totalSizeBytes"));
+            case "hardcore_count":
+                return String.valueOf(view.get("hardcoreCount"));
+            case "newest":
+                return String.valueOf(view.getOrDefault("newest", ""));
+            case "oldest":
+                return String.valueOf(view.getOrDefault("oldest", ""));
+            default:
+                break;
+        }
+
+        if (type.endsWith("_count")) {
+            String value = type.substring(0, type.length() - "_count".length());
+            Map<String, Integer> gameModes = (Map<String, Integer>) view.get("gameModes");
+            Map<String, Integer> difficulties = (Map<String, Integer>) view.get("difficulties");
+            if (GAME_MODES.contains(value) || gameModes.containsKey(value)) {
+                return String.valueOf(gameModes.getOrDefault(value, 0));
+            }
+            if (DIFFICULTIES.contains(value) || difficulties.containsKey(value)) {
+                return String.valueOf(difficulties.getOrDefault(value, 0));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Map view for the "aggregates" JSON field (unmodifiable, rebuilt after a change).
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> view = mapView;
+        if (view == null) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("totalSize", FormatUtils.formatBytes(totalSizeBytes));
+            map.put("totalSizeBytes", totalSizeBytes);
+            map.put("hardcoreCount", hardcoreCount);
+            map.put("gameModes", Collections.unmodifiableMap(new LinkedHashMap<>(gameModeCounts)));
+            map.put("difficulties", Collections.unmodifiableMap(new LinkedHashMap<>(difficultyCounts)));
+            if (newest != null) {
+                map.put("newest", newest.getWorldName());
+                map.put("newestFolder", newest.getFolderName());
+            }
+            if (oldest != null) {
+                map.put("oldest", oldest.getWorldName());
+                map.put("oldestFolder", oldest.getFolderName());
+            }
+            view = Collections.unmodifiableMap(map);
+            mapView = view;
+        }
+        return view;
+    }
+}
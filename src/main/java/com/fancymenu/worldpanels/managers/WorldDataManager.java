@@ -1,6 +1,9 @@
 package com.fancymenu.worldpanels.managers;
 
+import com.fancymenu.worldpanels.data.RegionStats;
+import com.fancymenu.worldpanels.data.WorldDimension;
 import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.data.WorldSizeBreakdown;
 import com.fancymenu.worldpanels.utils.NBTUtils;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -12,9 +15,11 @@ import java.io.File;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages world data discovery, caching, and updates.
@@ -24,6 +29,12 @@ import java.util.concurrent.TimeUnit;
  * - Intelligent caching with change detection
  * - Automatic refresh when worlds are added/removed
  * - Memory-efficient operation for large world collections
+ * - Slow-tier region header statistics (explored area), refreshed incrementally
+ * - Opt-in player snapshot extraction (only once a template asks for player data)
+ * - Snapshot version that is bumped on every cache change, for cheap change detection
+ * - Change listeners, notified after a scan or slow-tier update changed the cache
+ * - Library-wide aggregates, updated from each change (see {@link WorldAggregates})
+ * - Cached field projection per snapshot version (see {@link WorldProjection})
  */
 @Environment(EnvType.CLIENT)
 public class WorldDataManager {
@@ -33,13 +44,24 @@ public class WorldDataManager {
     
     private final Map<String, WorldInfo> worldCache = new ConcurrentHashMap<>();
     private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+    private final RegionStatsExtractor regionStatsExtractor = new RegionStatsExtractor();
+    private final Set<String> pendingRegionStats = ConcurrentHashMap.newKeySet();
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private final WorldAggregates aggregates = new WorldAggregates();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private final Object projectionLock = new Object();
+    private volatile WorldProjection projection;
     private File savesDirectory;
     private long lastScanTime = 0;
+    private volatile long completedScanVersion = -1;
+    private long lastRegionStatsPass = 0;
+    private volatile boolean playerDataRequested = false;
     private boolean initialized = false;
     
     // Configuration
     private static final long SCAN_INTERVAL_MS = 5000; // 5 seconds
     private static final long CACHE_VALIDITY_MS = 30000; // 30 seconds
+    private static final long REGION_STATS_INTERVAL_MS = 60000; // 1 minute
     
     private WorldDataManager() {}
     
@@ -118,6 +140,78 @@ public class WorldDataManager {
         return worldCache.get(folderName);
     }
     
+    /**
+     * Find a world by folder name or display name, ignoring case and punctuation if needed.
+     * See {@link WorldNameIndex} for the matching order.
+     */
+    public WorldInfo findWorld(String name) {
+        return getProjection().getNameIndex().find(name);
+    }
+    
+    /**
+     * Version of the world cache contents. Increases whenever a world is added, updated or removed,
+     * so consumers can skip work while it is unchanged.
+     */
+    public long getSnapshotVersion() {
+        return snapshotVersion.get();
+    }
+    
+    /**
+     * Snapshot version at the end of the latest full scan of the saves directory, or -1 before the
+     * first one finished. Until then the cache may hold only some of the worlds, so a world missing
+     * from it is not known to be removed.
+     */
+    public long getCompletedScanVersion() {
+        return completedScanVersion;
+    }
+    
+    /**
+     * Library-wide aggregates (total size, count per game mode, ...) of the current cache.
+     * Kept up to date with every change, so reads are O(1).
+     */
+    public WorldAggregates getAggregates() {
+        return aggregates;
+    }
+    
+    /**
+     * Register a listener that is called (on a background thread) whenever the world cache changed.
+     * Listeners must return quickly, e.g. by scheduling their work.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+    
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+    
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                LOGGER.warn("World change listener failed", e);
+            }
+        }
+    }
+    
+    /**
+     * Enable player snapshot extraction. Called when a player placeholder is first used;
+     * worlds already in the cache are rescanned in the background to add their snapshot.
+     */
+    public void requestPlayerData() {
+        if (playerDataRequested) return;
+        playerDataRequested = true;
+        LOGGER.debug("Player data requested, enabling player snapshot extraction");
+        if (initialized) {
+            scanWorldsAsync();
+        }
+    }
+    
+    public boolean isPlayerDataRequested() {
+        return playerDataRequested;
+    }
+    
     /**
      * Refresh world data immediately (blocking operation).
      */
@@ -126,56 +220,42 @@ public class WorldDataManager {
     }
     
     /**
-     * Get world data as a Map for use by FancyMenu elements
+     * Get the field projection of the current snapshot, rebuilt once per snapshot version.
+     * All consumers (map view, exports, json index) share the same projection.
      */
+    public WorldProjection getProjection() {
+        long version = snapshotVersion.get();
+        WorldProjection current = projection;
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        
+        synchronized (projectionLock) {
+            current = projection;
+            if (current == null || current.getVersion() != version) {
+                // Version is read before the worlds, so a concurrent change rebuilds again
+                current = new WorldProjection(version, getWorlds(), aggregates.toMap());
+                projection = current;
+            }
+            return current;
+        }
+    }
+    
+    /**
+     * Get world data as a Map for use by FancyMenu elements.
+     * Every call returns a new, modifiable map. iconPath is null for worlds without an icon
+     * (the JSON exports write "" instead).
+     */
+    @SuppressWarnings("unchecked")
     public Map<String, Object> getWorldDataAsMap() {
         try {
-            // Build the map directly from our cached worlds
-            List<WorldInfo> worlds = getWorlds();
-            
-            Map<String, Object> data = new LinkedHashMap<>();
-            data.put("count", worlds.size());
-            data.put("lastUpdated", java.time.Instant.now().toString());
-            data.put("exportVersion", "1.0.0");
+            WorldProjection current = getProjection();
+            Map<String, Object> data = (Map<String, Object>) mutableCopy(current.asMap());
             
-            List<Map<String, Object>> worldsData = new ArrayList<>();
-            for (int i = 0; i < worlds.size(); i++) {
-                WorldInfo world = worlds.get(i);
-                Map<String, Object> worldMap = new LinkedHashMap<>();
-                
-                worldMap.put("index", i);
-                worldMap.put("name", world.getWorldName());
-                worldMap.put("folder", world.getFolderName());
-                worldMap.put("path", world.getFolderPath());
-                worldMap.put("gamemode", world.getGameModeDisplay());
-                worldMap.put("gamemodeRaw", world.getGameMode());
-                worldMap.put("difficulty", world.getDifficultyDisplay());
-                worldMap.put("difficultyRaw", world.getDifficulty());
-                worldMap.put("version", world.getVersion());
-                worldMap.put("seed", world.getSeed());
-                worldMap.put("hardcore", world.isHardcore());
-                worldMap.put("cheats", world.hasCheats());
-                worldMap.put("lastPlayed", world.getFormattedLastPlayed());
-                worldMap.put("lastPlayedRaw", world.getLastPlayed());
-                worldMap.put("created", world.getFormattedCreationTime());
-                worldMap.put("createdRaw", world.getCreationTime());
-                worldMap.put("inUse", world.isInUse());
-                worldMap.put("status", world.isInUse() ? "In Use" : "Available");
-                worldMap.put("hasIcon", world.hasIcon());
-                worldMap.put("size", world.getFormattedWorldSize());
-                worldMap.put("sizeBytes", world.getWorldSizeBytes());
-                worldMap.put("weather", world.getWeatherDisplay());
-                worldMap.put("timeOfDay", world.getTimeOfDayDisplay());
-                worldMap.put("raining", world.isRaining());
-                worldMap.put("thundering", world.isThundering());
-                worldMap.put("worldTime", world.getWorldTime());
-                worldMap.put("dayTime", world.getDayTime());
-                worldMap.put("iconPath", world.getIconPath());
-                
-                worldsData.add(worldMap);
+            List<Map<String, Object>> worldsData = (List<Map<String, Object>>) data.get("worlds");
+            for (int i = 0; i < worldsData.size(); i++) {
+                worldsData.get(i).put("iconPath", current.getWorlds().get(i).getIconPath());
             }
-            
-            data.put("worlds", worldsData);
             return data;
             
         } catch (Exception e) {
@@ -184,6 +264,28 @@ public class WorldDataManager {
         }
     }
     
+    /**
+     * Deep copy of the projection's unmodifiable map view into LinkedHashMaps and ArrayLists.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object mutableCopy(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                copy.put(entry.getKey(), mutableCopy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object element : (List<Object>) value) {
+                copy.add(mutableCopy(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+    
     /**
      * Async world scanning for background updates.
      */
@@ -220,10 +322,20 @@ public class WorldDataManager {
                     WorldInfo existingWorld = worldCache.get(folderName);
                     long folderModified = worldFolder.lastModified();
                     
-                    if (existingWorld == null || existingWorld.getFolderModified() != folderModified) {
-                        WorldInfo worldInfo = scanWorldFolder(worldFolder);
+                    boolean missingPlayerData = playerDataRequested && existingWorld != null
+                                             && !existingWorld.isPlayerSnapshotLoaded();
+                    
+                    if (existingWorld == null || existingWorld.getFolderModified() != folderModified || missingPlayerData) {
+                        WorldInfo worldInfo = scanWorldFolder(worldFolder, existingWorld);
                         if (worldInfo != null) {
-                            worldCache.put(folderName, worldInfo);
+                            // Aggregates are updated inside the map operation, so overlapping scans
+                            // apply their changes to both in the same order
+                            worldCache.compute(folderName, (name, previousWorld) -> {
+                                aggregates.update(previousWorld, worldInfo);
+                                return worldInfo;
+                            });
+                            snapshotVersion.incrementAndGet();
+                            scheduleRegionStats(worldFolder);
                             updatedCount++;
                         }
                     }
@@ -239,12 +351,37 @@ public class WorldDataManager {
             toRemove.removeAll(foundWorlds);
             
             for (String removedWorld : toRemove) {
-                worldCache.remove(removedWorld);
+                worldCache.computeIfPresent(removedWorld, (name, world) -> {
+                    aggregates.update(world, null);
+                    return null;
+                });
+                snapshotVersion.incrementAndGet();
+                regionStatsExtractor.evict(new File(savesDirectory, removedWorld));
                 LOGGER.debug("Removed deleted world from cache: {}", removedWorld);
             }
             
             lastScanTime = System.currentTimeMillis();
             
+            // Listeners waiting for a complete world list are notified after the first full scan,
+            // even if it found no worlds
+            boolean firstCompleteScan = completedScanVersion < 0;
+            completedScanVersion = snapshotVersion.get();
+            
+            if (updatedCount > 0 || !toRemove.isEmpty() || firstCompleteScan) {
+                fireChanged();
+            }
+            
+            // Region files change while a world is played without touching the world folder,
+            // so periodically refresh every world's header stats (unchanged files are cached)
+            if (lastScanTime - lastRegionStatsPass > REGION_STATS_INTERVAL_MS) {
+                lastRegionStatsPass = lastScanTime;
+                for (File worldFolder : worldFolders) {
+                    if (worldCache.containsKey(worldFolder.getName())) {
+                        scheduleRegionStats(worldFolder);
+                    }
+                }
+            }
+            
             if (updatedCount > 0 || !toRemove.isEmpty()) {
                 LOGGER.debug("World scan complete: {} scanned, {} updated, {} removed", 
                            scannedCount, updatedCount, toRemove.size());
@@ -257,8 +394,9 @@ public class WorldDataManager {
     
     /**
      * Scan a single world folder and extract world information.
+     * Region stats of the previous scan are carried over until the slow tier refreshes them.
      */
-    private WorldInfo scanWorldFolder(File worldFolder) {
+    private WorldInfo scanWorldFolder(File worldFolder, WorldInfo existingWorld) {
         try {
             File levelDat = new File(worldFolder, "level.dat");
             if (!levelDat.exists()) {
@@ -273,7 +411,7 @@ public class WorldDataManager {
                 .folderModified(worldFolder.lastModified());
             
             // Extract data from level.dat
-            NBTUtils.extractWorldData(levelDat, builder);
+            NBTUtils.extractWorldData(levelDat, builder, playerDataRequested);
             
             // Check for world icon
             File iconFile = new File(worldFolder, "icon.png");
@@ -285,8 +423,14 @@ public class WorldDataManager {
             File sessionLock = new File(worldFolder, "session.lock");
             builder.isInUse(sessionLock.exists());
             
-            // Calculate world size
-            builder.worldSizeBytes(calculateWorldSize(worldFolder));
+            // Calculate world size (total and breakdown come from the same walk)
+            WorldSizeBreakdown sizeBreakdown = calculateWorldSize(worldFolder);
+            builder.worldSizeBytes(sizeBreakdown.getTotalBytes())
+                   .sizeBreakdown(sizeBreakdown);
+            
+            if (existingWorld != null) {
+                builder.regionStats(existingWorld.getRegionStats());
+            }
             
             return builder.build();
             
@@ -297,35 +441,146 @@ public class WorldDataManager {
     }
     
     /**
-     * Calculate world size by summing all files.
+     * Queue a slow-tier region stats refresh for a world (at most one pending per world).
      */
-    private long calculateWorldSize(File worldFolder) {
+    private void scheduleRegionStats(File worldFolder) {
+        String folderName = worldFolder.getName();
+        if (!pendingRegionStats.add(folderName)) {
+            return;
+        }
+        
         try {
-            return calculateDirectorySize(worldFolder);
+            executor.execute(() -> {
+                try {
+                    RegionStats stats = regionStatsExtractor.extract(worldFolder);
+                    boolean[] changed = new boolean[1];
+                    worldCache.computeIfPresent(folderName, (name, world) -> {
+                        if (stats.equals(world.getRegionStats())) {
+                            return world;
+                        }
+                        WorldInfo updated = world.toBuilder().regionStats(stats).build();
+                        aggregates.update(world, updated);
+                        changed[0] = true;
+                        return updated;
+                    });
+                    // Bumped once the new world is in the cache, like the scan path, so a projection
+                    // built for the new version never sees the old world
+                    if (changed[0]) {
+                        snapshotVersion.incrementAndGet();
+                        fireChanged();
+                    }
+                } catch (Exception e) {
+                    LOGGER.debug("Failed to extract region stats for {}", folderName, e);
+                } finally {
+                    pendingRegionStats.remove(folderName);
+                }
+            });
+        } catch (Exception e) {
+            // Executor already shut down
+            pendingRegionStats.remove(folderName);
+        }
+    }
+    
+    /**
+     * Calculate world size by summing all files, classified by dimension and category.
+     * 
+     * Layout: region/entities/poi/data in the world root belong to the overworld,
+     * DIM-1 and DIM1 hold the same folders for the Nether and the End, and
+     * dimensions/<namespace>/<name>/ holds custom dimensions.
+     */
+    private WorldSizeBreakdown calculateWorldSize(File worldFolder) {
+        WorldSizeBreakdown.Builder sizes = new WorldSizeBreakdown.Builder();
+        
+        try {
+            File[] entries = worldFolder.listFiles();
+            if (entries == null) {
+                return sizes.build();
+            }
+            
+            for (File entry : entries) {
+                if (!entry.isDirectory()) {
+                    // level.dat, icon.png, session.lock, ...
+                    sizes.add(null, WorldSizeBreakdown.Category.OTHER, entry.length());
+                    continue;
+                }
+                
+                String name = entry.getName();
+                WorldDimension dimension = WorldDimension.fromFolderName(name);
+                
+                if (dimension != null) {
+                    calculateDimensionSize(entry, dimension, sizes);
+                } else if ("dimensions".equals(name)) {
+                    calculateCustomDimensionsSize(entry, sizes);
+                } else {
+                    WorldSizeBreakdown.Category category = WorldSizeBreakdown.Category.fromFolderName(name);
+                    boolean overworldData = category != WorldSizeBreakdown.Category.PLAYERDATA
+                                         && category != WorldSizeBreakdown.Category.OTHER;
+                    calculateDirectorySize(entry, overworldData ? WorldDimension.OVERWORLD : null, category, sizes);
+                }
+            }
         } catch (Exception e) {
             LOGGER.debug("Failed to calculate world size for {}", worldFolder.getName(), e);
-            return 0;
         }
+        
+        return sizes.build();
     }
     
     /**
-     * Recursively calculate directory size.
+     * Sum a dimension folder (DIM-1, DIM1 or a custom dimension), classifying its sub-folders.
      */
-    private long calculateDirectorySize(File directory) {
-        long size = 0;
+    private void calculateDimensionSize(File dimensionFolder, WorldDimension dimension, WorldSizeBreakdown.Builder sizes) {
+        File[] entries = dimensionFolder.listFiles();
+        if (entries == null) return;
+        
+        for (File entry : entries) {
+            if (entry.isDirectory()) {
+                calculateDirectorySize(entry, dimension, WorldSizeBreakdown.Category.fromFolderName(entry.getName()), sizes);
+            } else {
+                sizes.add(dimension, WorldSizeBreakdown.Category.OTHER, entry.length());
+            }
+        }
+    }
+    
+    /**
+     * Sum custom dimensions stored as dimensions/<namespace>/<name>/.
+     */
+    private void calculateCustomDimensionsSize(File dimensionsFolder, WorldSizeBreakdown.Builder sizes) {
+        File[] namespaces = dimensionsFolder.listFiles();
+        if (namespaces == null) return;
+        
+        for (File namespace : namespaces) {
+            File[] dimensionFolders = namespace.listFiles();
+            if (dimensionFolders == null) {
+                sizes.add(null, WorldSizeBreakdown.Category.OTHER, namespace.length());
+                continue;
+            }
+            
+            for (File dimensionFolder : dimensionFolders) {
+                if (dimensionFolder.isDirectory()) {
+                    calculateDimensionSize(dimensionFolder, null, sizes);
+                } else {
+                    sizes.add(null, WorldSizeBreakdown.Category.OTHER, dimensionFolder.length());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Recursively calculate directory size, attributing every file to one dimension and category.
+     */
+    private void calculateDirectorySize(File directory, WorldDimension dimension, WorldSizeBreakdown.Category category,
+                                        WorldSizeBreakdown.Builder sizes) {
         File[] files = directory.listFiles();
         
         if (files != null) {
             for (File file : files) {
                 if (file.isDirectory()) {
-                    size += calculateDirectorySize(file);
+                    calculateDirectorySize(file, dimension, category, sizes);
                 } else {
-                    size += file.length();
+                    sizes.add(dimension, category, file.length());
                 }
             }
         }
-        
-        return size;
     }
     
     /**
@@ -344,7 +599,12 @@ public class WorldDataManager {
             }
         }
         
+        regionStatsExtractor.shutdown();
+        changeListeners.clear();
         worldCache.clear();
+        aggregates.clear();
+        snapshotVersion.incrementAndGet();
+        completedScanVersion = -1;
         initialized = false;
         LOGGER.info("WorldDataManager shutdown complete");
     }
@@ -0,0 +1,303 @@
+package com.fancymenu.worldpanels.managers;
+
+import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.utils.FormatUtils;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records how worlds change over time and answers trend queries ("size 30 days ago",
+ * "sessions this week").
+ *
+ * On every WorldDataManager snapshot change, the worlds are diffed against the last recorded
+ * state and only the differences (new session, size change, removal) are appended to the
+ * {@link WorldHistoryStore} log. The log is compacted into a memory-mapped checkpoint at startup
+ * and whenever it grows past {@link #COMPACT_THRESHOLD_BYTES}. All file work runs on a
+ * dedicated history thread.
+ *
+ * A session is counted when a world's lastPlayed time advances; its time is the lastPlayed time.
+ */
+@Environment(EnvType.CLIENT)
+public class WorldHistoryManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorldHistoryManager.class);
+    private static WorldHistoryManager INSTANCE;
+
+    private static final long COMPACT_THRESHOLD_BYTES = 256 * 1024;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final Pattern SIZE_AGO_PATTERN = Pattern.compile("size_(\\d{1,4})d_ago");
+    private static final Pattern SIZE_GROWTH_PATTERN = Pattern.compile("size_growth_(\\d{1,4})d");
+    private static final Pattern SESSIONS_PATTERN = Pattern.compile("sessions_(today|week|month|(\\d{1,4})d)");
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WorldPanels-History");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Runnable changeListener = this::onWorldsChanged;
+    private WorldHistoryStore store;
+    private long lastRecordedVersion = -1;
+    private volatile boolean initialized = false;
+
+    private WorldHistoryManager() {}
+
+    public static synchronized void initialize() {
+        if (INSTANCE == null) {
+            INSTANCE = new WorldHistoryManager();
+            INSTANCE.init();
+        }
+    }
+
+    public static WorldHistoryManager getInstance() {
+        if (INSTANCE == null) {
+            throw new IllegalStateException("WorldHistoryManager not initialized!");
+        }
+        return INSTANCE;
+    }
+
+    private void init() {
+        try {
+            MinecraftClient client = MinecraftClient.getInstance();
+            File configDir = new File(client.runDirectory, "config");
+            File historyDir = new File(new File(configDir, "fancymenu-world-panels"), "history");
+
+            store = new WorldHistoryStore(historyDir);
+            store.open();
+            initialized = true;
+
+            // The first recording waits for a full world scan (see recordChanges), which notifies
+            // the listener; if that scan already finished, the recording below picks it up
+            WorldDataManager.getInstance().addChangeListener(changeListener);
+            executor.execute(() -> {
+                compact();
+                recordChanges();
+            });
+
+            LOGGER.info("World history will be recorded to: {}", historyDir.getPath());
+
+        } catch (Exception e) {
+            LOGGER.error("Failed to initialize WorldHistoryManager", e);
+        }
+    }
+
+    /**
+     * Called by the WorldDataManager after the world cache changed.
+     */
+    private void onWorldsChanged() {
+        if (!executor.isShutdown()) {
+            executor.execute(this::recordChanges);
+        }
+    }
+
+    /**
+     * Append the differences between the current worlds and the last recorded state.
+     */
+    private void recordChanges() {
+        try {
+            WorldDataManager manager = WorldDataManager.getInstance();
+            long version = manager.getSnapshotVersion();
+            if (!initialized || version == lastRecordedVersion) return;
+
+            // Before the first full scan the cache may be partial; worlds missing from it are not removed
+            if (manager.getCompletedScanVersion() < 0) return;
+
+            long now = System.currentTimeMillis();
+            Map<String, WorldHistoryStore.Record> latest = store.getLatestRecords();
+            List<WorldHistoryStore.Record> deltas = new ArrayList<>();
+            Set<String> present = new HashSet<>();
+
+            for (WorldInfo world : manager.getWorlds()) {
+                present.add(world.getFolderName());
+                WorldHistoryStore.Record previous = latest.get(world.getFolderName());
+
+                int flags = 0;
+                if (previous == null || previous.has(WorldHistoryStore.FLAG_REMOVED)) {
+                    flags = WorldHistoryStore.FLAG_SIZE;
+                } else {
+                    if (world.getLastPlayed() > previous.lastPlayed) flags |= WorldHistoryStore.FLAG_SESSION;
+                    if (world.getWorldSizeBytes() != previous.sizeBytes) flags |= WorldHistoryStore.FLAG_SIZE;
+                }
+                if (flags == 0) continue;
+
+                // Sessions are dated by their lastPlayed time, so they land in the right day
+                long time = (flags & WorldHistoryStore.FLAG_SESSION) != 0 ? Math.min(world.getLastPlayed(), now) : now;
+                if (previous != null && time < previous.time) {
+                    time = previous.time;
+                }
+                deltas.add(new WorldHistoryStore.Record(0, time, world.getFolderName(), flags,
+                    world.getLastPlayed(), world.getWorldSizeBytes()));
+            }
+
+            for (WorldHistoryStore.Record previous : latest.values()) {
+                if (!present.contains(previous.folder) && !previous.has(WorldHistoryStore.FLAG_REMOVED)) {
+                    deltas.add(new WorldHistoryStore.Record(0, Math.max(now, previous.time), previous.folder,
+                        WorldHistoryStore.FLAG_REMOVED, previous.lastPlayed, previous.sizeBytes));
+                }
+            }
+
+            store.append(deltas);
+            lastRecordedVersion = version;
+            if (!deltas.isEmpty()) {
+                LOGGER.debug("Recorded {} world history changes", deltas.size());
+            }
+
+            if (store.getLogSize() > COMPACT_THRESHOLD_BYTES) {
+                compact();
+            }
+
+        } catch (Exception e) {
+            LOGGER.error("Failed to record world history", e);
+        }
+    }
+
+    private void compact() {
+        try {
+            store.compact();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to compact world history", e);
+        }
+    }
+
+    // ======================================
+    // QUERIES
+    // ======================================
+
+    /**
+     * Get the size of a world as recorded at a point in time.
+     *
+     * @return The size in bytes, or -1 if the world was unknown or removed at that time
+     */
+    public long getSizeAt(String folderName, long time) {
+        if (!initialized) return -1;
+
+        WorldHistoryStore.Record record = store.findAt(folderName, time);
+        return record != null && !record.has(WorldHistoryStore.FLAG_REMOVED) ? record.sizeBytes : -1;
+    }
+
+    /**
+     * Get the size of a world a number of days ago, or -1 if unknown.
+     */
+    public long getSizeDaysAgo(String folderName, int days) {
+        return getSizeAt(folderName, System.currentTimeMillis() - days * DAY_MS);
+    }
+
+    /**
+     * Count the play sessions of a world in [from, to].
+     */
+    public int getSessionsBetween(String folderName, long from, long to) {
+        if (!initialized) return 0;
+        return store.count(folderName, WorldHistoryStore.FLAG_SESSION, from, to);
+    }
+
+    /**
+     * Count the play sessions of a world in the last number of days.
+     */
+    public int getSessions(String folderName, int days) {
+        long now = System.currentTimeMillis();
+        return getSessionsBetween(folderName, now - days * DAY_MS, now);
+    }
+
+    /**
+     * Resolve a history property of a world.
+     * Supported: size_&lt;n&gt;d_ago, size_growth_&lt;n&gt;d, sessions_today, sessions_week,
+     * sessions_month and sessions_&lt;n&gt;d.
+     *
+     * @return The value, or null if the property is not a history property or history is unavailable
+     */
+    public static String getHistoryProperty(WorldInfo world, String property) {
+        if (INSTANCE == null || !INSTANCE.initialized || world == null) {
+            return null;
+        }
+
+        try {
+            Matcher sizeAgo = SIZE_AGO_PATTERN.matcher(property);
+            if (sizeAgo.matches()) {
+                long size = INSTANCE.getSizeDaysAgo(world.getFolderName(), Integer.parseInt(sizeAgo.group(1)));
+                return size >= 0 ? FormatUtils.formatBytes(size) : "Unknown";
+            }
+
+            Matcher sizeGrowth = SIZE_GROWTH_PATTERN.matcher(property);
+            if (sizeGrowth.matches()) {
+                long size = INSTANCE.getSizeDaysAgo(world.getFolderName(), Integer.parseInt(sizeGrowth.group(1)));
+                if (size < 0) return "Unknown";
+                long growth = world.getWorldSizeBytes() - size;
+                return (growth < 0 ? "-" : "+") + FormatUtils.formatBytes(Math.abs(growth));
+            }
+
+            Matcher sessions = SESSIONS_PATTERN.matcher(property);
+            if (sessions.matches()) {
+                long now = System.currentTimeMillis();
+                long from;
+                switch (sessions.group(1)) {
+                    case "today":
+                        from = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                        break;
+                    case "week":
+                        from = now - 7 * DAY_MS;
+                        break;
+                    case "month":
+                        from = now - 30 * DAY_MS;
+                        break;
+                    default:
+                        from = now - Integer.parseInt(sessions.group(2)) * DAY_MS;
+                        break;
+                }
+                return String.valueOf(INSTANCE.getSessionsBetween(world.getFolderName(), from, now));
+            }
+
+        } catch (Exception e) {
+            LOGGER.debug("Failed to resolve history property {}", property, e);
+        }
+        return null;
+    }
+
+    /**
+     * Shutdown the history manager, recording the final state.
+     */
+    public void shutdown() {
+        try {
+            WorldDataManager.getInstance().removeChangeListener(changeListener);
+        } catch (IllegalStateException e) {
+            // Manager already gone
+        }
+
+        executor.execute(this::recordChanges);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        initialized = false;
+        if (store != null) {
+            store.close();
+        }
+        LOGGER.info("WorldHistoryManager shutdown complete");
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+}
@@ -0,0 +1,515 @@
+package com.fancymenu.worldpanels.managers;
+
+import com.fancymenu.worldpanels.utils.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * On-disk world history: an append-only log of per-world deltas plus a compacted checkpoint.
+ *
+ * history.log holds length-prefixed records ([int length][payload]) and is only ever appended
+ * to, so recording a change costs O(delta). Once the log grows past a threshold, {@link #compact()}
+ * merges it with the current checkpoint into a new checkpoint-&lt;seq&gt;.bin and truncates the log.
+ *
+ * Checkpoint layout: a header with the world table (folder, first entry, entry count), followed by
+ * fixed-size entries grouped by world and sorted by time. The entry block is memory-mapped, so range
+ * queries are binary searches on the mapping. Records newer than the checkpoint are kept in memory.
+ *
+ * The mapping and the in-memory records are published together as an immutable {@link State}.
+ * Appends and compaction build a new state under the store's lock and swap it in, so queries
+ * (called while rendering placeholders) never wait for a compaction or an fsync.
+ *
+ * Every record carries a sequence number; log records already covered by the checkpoint (a crash
+ * between writing the checkpoint and truncating the log) are skipped on replay.
+ */
+class WorldHistoryStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorldHistoryStore.class);
+
+    static final int FLAG_SESSION = 1;
+    static final int FLAG_SIZE = 2;
+    static final int FLAG_REMOVED = 4;
+
+    private static final String LOG_FILENAME = "history.log";
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String CHECKPOINT_SUFFIX = ".bin";
+    private static final int CHECKPOINT_MAGIC = 0x57504843; // "WPHC"
+    private static final int CHECKPOINT_FORMAT = 1;
+    private static final int ENTRY_SIZE = 32; // time, lastPlayed, sizeBytes, flags, padding
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+    /**
+     * One history record of a world.
+     */
+    static final class Record {
+        final long seq;
+        final long time;
+        final String folder;
+        final int flags;
+        final long lastPlayed;
+        final long sizeBytes;
+
+        Record(long seq, long time, String folder, int flags, long lastPlayed, long sizeBytes) {
+            this.seq = seq;
+            this.time = time;
+            this.folder = folder;
+            this.flags = flags;
+            this.lastPlayed = lastPlayed;
+            this.sizeBytes = sizeBytes;
+        }
+
+        boolean has(int flag) {
+            return (flags & flag) != 0;
+        }
+    }
+
+    /**
+     * Entry range of one world in the checkpoint.
+     */
+    private static final class Slice {
+        final int first;
+        final int count;
+
+        Slice(int first, int count) {
+            this.first = first;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Checkpoint mapping plus the records newer than it. Never modified once published.
+     */
+    private static final class State {
+        final File checkpointFile;
+        final long checkpointSeq;
+        final Map<String, Slice> slices;
+        final MappedByteBuffer entries;
+        // Records newer than the checkpoint, per world in time order
+        final Map<String, List<Record>> tail;
+
+        State(File checkpointFile, long checkpointSeq, Map<String, Slice> slices, MappedByteBuffer entries,
+              Map<String, List<Record>> tail) {
+            this.checkpointFile = checkpointFile;
+            this.checkpointSeq = checkpointSeq;
+            this.slices = slices;
+            this.entries = entries;
+            this.tail = tail;
+        }
+
+        State withTail(Map<String, List<Record>> newTail) {
+            return new State(checkpointFile, checkpointSeq, slices, entries, newTail);
+        }
+
+        long entryTime(int index) {
+            return entries.getLong(index * ENTRY_SIZE);
+        }
+
+        Record readEntry(String folder, int index) {
+            int offset = index * ENTRY_SIZE;
+            return new Record(0, entries.getLong(offset), folder, entries.getInt(offset + 24),
+                entries.getLong(offset + 8), entries.getLong(offset + 16));
+        }
+    }
+
+    private static final State EMPTY = new State(null, 0, Map.of(), null, Map.of());
+
+    private final File directory;
+    private final File logFile;
+    private FileChannel logChannel;
+
+    // Read without the lock, replaced under it
+    private volatile State state = EMPTY;
+    private long nextSeq = 1;
+
+    WorldHistoryStore(File directory) {
+        this.directory = directory;
+        this.logFile = new File(directory, LOG_FILENAME);
+    }
+
+    /**
+     * Map the latest checkpoint and replay the log.
+     */
+    synchronized void open() throws IOException {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+
+        State checkpoint = loadLatestCheckpoint();
+        nextSeq = checkpoint.checkpointSeq + 1;
+
+        logChannel = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        state = checkpoint.withTail(replayLog(checkpoint.checkpointSeq));
+    }
+
+    /**
+     * Append records to the log. Only the new records are written.
+     *
+     * @param deltas Records to append; sequence numbers are assigned here
+     */
+    synchronized void append(List<Record> deltas) throws IOException {
+        if (deltas.isEmpty() || logChannel == null) return;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(deltas.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        List<Record> assigned = new ArrayList<>(deltas.size());
+        for (Record delta : deltas) {
+            Record record = new Record(nextSeq++, delta.time, delta.folder, delta.flags, delta.lastPlayed, delta.sizeBytes);
+            byte[] payload = encode(record);
+            out.writeInt(payload.length);
+            out.write(payload);
+            assigned.add(record);
+        }
+        out.flush();
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        logChannel.position(logChannel.size());
+        while (buffer.hasRemaining()) {
+            logChannel.write(buffer);
+        }
+
+        // Copy only the lists of the worlds that changed; queries may still be reading the old ones
+        State current = state;
+        Map<String, List<Record>> tail = new HashMap<>(current.tail);
+        Map<String, List<Record>> copied = new HashMap<>();
+        for (Record record : assigned) {
+            copied.computeIfAbsent(record.folder, key -> {
+                List<Record> records = new ArrayList<>(current.tail.getOrDefault(key, List.of()));
+                tail.put(key, records);
+                return records;
+            }).add(record);
+        }
+        state = current.withTail(tail);
+    }
+
+    synchronized long getLogSize() throws IOException {
+        return logChannel != null ? logChannel.size() : 0;
+    }
+
+    /**
+     * Latest record of every world (including removals), for diffing against new snapshots.
+     */
+    Map<String, Record> getLatestRecords() {
+        State current = state;
+        Map<String, Record> latest = new HashMap<>();
+        for (Map.Entry<String, Slice> entry : current.slices.entrySet()) {
+            Slice slice = entry.getValue();
+            if (slice.count > 0) {
+                latest.put(entry.getKey(), current.readEntry(entry.getKey(), slice.first + slice.count - 1));
+            }
+        }
+        for (Map.Entry<String, List<Record>> entry : current.tail.entrySet()) {
+            List<Record> records = entry.getValue();
+            latest.put(entry.getKey(), records.get(records.size() - 1));
+        }
+        return latest;
+    }
+
+    /**
+     * Latest record of a world at or before a time, or null if none.
+     */
+    Record findAt(String folder, long time) {
+        State current = state;
+        List<Record> records = current.tail.get(folder);
+        if (records != null) {
+            for (int i = records.size() - 1; i >= 0; i--) {
+                if (records.get(i).time <= time) {
+                    return records.get(i);
+                }
+            }
+        }
+
+        Slice slice = current.slices.get(folder);
+        if (slice == null) return null;
+
+        // Binary search for the last entry with entry.time <= time
+        int low = 0;
+        int high = slice.count - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (current.entryTime(slice.first + mid) <= time) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found >= 0 ? current.readEntry(folder, slice.first + found) : null;
+    }
+
+    /**
+     * Count the records of a world with all of the given flags, recorded in [from, to].
+     */
+    int count(String folder, int flags, long from, long to) {
+        State current = state;
+        int count = 0;
+
+        Slice slice = current.slices.get(folder);
+        if (slice != null) {
+            // Binary search for the first entry with entry.time >= from
+            int low = 0;
+            int high = slice.count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (current.entryTime(slice.first + mid) < from) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < slice.count; i++) {
+                int index = slice.first + i;
+                if (current.entryTime(index) > to) break;
+                if ((current.entries.getInt(index * ENTRY_SIZE + 24) & flags) == flags) {
+                    count++;
+                }
+            }
+        }
+
+        List<Record> records = current.tail.get(folder);
+        if (records != null) {
+            for (Record record : records) {
+                if (record.time >= from && record.time <= to && (record.flags & flags) == flags) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Merge the checkpoint and the log into a new checkpoint, then truncate the log.
+     * Never called on the hot path; queries keep reading the previous state until the new one is mapped.
+     */
+    synchronized void compact() throws IOException {
+        State current = state;
+        if (current.tail.isEmpty()) return;
+
+        // Merge per world: checkpoint entries first (older), then the tail
+        Map<String, List<Record>> merged = new TreeMap<>();
+        for (Map.Entry<String, Slice> entry : current.slices.entrySet()) {
+            List<Record> records = new ArrayList<>(entry.getValue().count);
+            for (int i = 0; i < entry.getValue().count; i++) {
+                records.add(current.readEntry(entry.getKey(), entry.getValue().first + i));
+            }
+            merged.put(entry.getKey(), records);
+        }
+        long maxSeq = current.checkpointSeq;
+        for (Map.Entry<String, List<Record>> entry : current.tail.entrySet()) {
+            merged.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).addAll(entry.getValue());
+            maxSeq = Math.max(maxSeq, entry.getValue().get(entry.getValue().size() - 1).seq);
+        }
+
+        File newCheckpoint = new File(directory, CHECKPOINT_PREFIX + maxSeq + CHECKPOINT_SUFFIX);
+        FileUtils.writeAtomically(newCheckpoint.toPath(), encodeCheckpoint(merged, maxSeq));
+
+        File oldCheckpoint = current.checkpointFile;
+        state = mapCheckpoint(newCheckpoint);
+        logChannel.truncate(0);
+        logChannel.force(true);
+
+        // A still-mapped old checkpoint may not be deletable (Windows); it is retried on the next open
+        if (oldCheckpoint != null && !oldCheckpoint.delete()) {
+            LOGGER.debug("Could not delete old history checkpoint {} yet", oldCheckpoint.getName());
+        }
+        LOGGER.debug("Compacted world history into {} ({} worlds)", newCheckpoint.getName(), merged.size());
+    }
+
+    synchronized void close() {
+        if (logChannel != null) {
+            try {
+                logChannel.force(true);
+                logChannel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close world history log", e);
+            }
+            logChannel = null;
+        }
+    }
+
+    // ======================================
+    // CHECKPOINT
+    // ======================================
+
+    private State loadLatestCheckpoint() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(CHECKPOINT_PREFIX) && name.endsWith(CHECKPOINT_SUFFIX));
+        if (files == null || files.length == 0) return EMPTY;
+
+        // Newest first; fall back to older checkpoints if the newest cannot be read
+        List<File> checkpoints = new ArrayList<>(List.of(files));
+        checkpoints.sort(Collections.reverseOrder((a, b) -> Long.compare(checkpointSeqOf(a), checkpointSeqOf(b))));
+        State loaded = EMPTY;
+        for (File checkpoint : checkpoints) {
+            if (loaded.checkpointFile == null) {
+                try {
+                    loaded = mapCheckpoint(checkpoint);
+                    continue;
+                } catch (IOException e) {
+                    LOGGER.warn("Ignoring unreadable world history checkpoint {}", checkpoint.getName(), e);
+                }
+            }
+            if (!checkpoint.delete()) {
+                LOGGER.debug("Could not delete stale history checkpoint {}", checkpoint.getName());
+            }
+        }
+        return loaded;
+    }
+
+    private static long checkpointSeqOf(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(CHECKPOINT_PREFIX.length(), name.length() - CHECKPOINT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static State mapCheckpoint(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer preamble = ByteBuffer.allocate(24);
+            while (preamble.hasRemaining() && channel.read(preamble) >= 0) {}
+            preamble.flip();
+            if (preamble.remaining() < 24 || preamble.getInt() != CHECKPOINT_MAGIC || preamble.getInt() != CHECKPOINT_FORMAT) {
+                throw new IOException("Not a world history checkpoint");
+            }
+            long seq = preamble.getLong();
+            long entriesOffset = preamble.getLong();
+
+            ByteBuffer header = ByteBuffer.allocate((int) (entriesOffset - 24));
+            while (header.hasRemaining() && channel.read(header) >= 0) {}
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(header.array()));
+            int worldCount = in.readInt();
+            Map<String, Slice> loaded = new HashMap<>();
+            for (int i = 0; i < worldCount; i++) {
+                String folder = in.readUTF();
+                loaded.put(folder, new Slice(in.readInt(), in.readInt()));
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, entriesOffset, channel.size() - entriesOffset);
+            return new State(file, seq, loaded, mapped, Map.of());
+        }
+    }
+
+    private static byte[] encodeCheckpoint(Map<String, List<Record>> worlds, long maxSeq) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerOut = new DataOutputStream(header);
+        headerOut.writeInt(worlds.size());
+        int first = 0;
+        for (Map.Entry<String, List<Record>> entry : worlds.entrySet()) {
+            headerOut.writeUTF(entry.getKey());
+            headerOut.writeInt(first);
+            headerOut.writeInt(entry.getValue().size());
+            first += entry.getValue().size();
+        }
+        headerOut.flush();
+
+        long entriesOffset = 24 + header.size();
+        ByteBuffer buffer = ByteBuffer.allocate((int) entriesOffset + first * ENTRY_SIZE);
+        buffer.putInt(CHECKPOINT_MAGIC);
+        buffer.putInt(CHECKPOINT_FORMAT);
+        buffer.putLong(maxSeq);
+        buffer.putLong(entriesOffset);
+        buffer.put(header.toByteArray());
+        for (List<Record> records : worlds.values()) {
+            for (Record record : records) {
+                buffer.putLong(record.time);
+                buffer.putLong(record.lastPlayed);
+                buffer.putLong(record.sizeBytes);
+                buffer.putInt(record.flags);
+                buffer.putInt(0);
+            }
+        }
+        return buffer.array();
+    }
+
+    // ======================================
+    // LOG
+    // ======================================
+
+    /**
+     * Read the log records newer than the checkpoint, per world in time order.
+     */
+    private Map<String, List<Record>> replayLog(long checkpointSeq) throws IOException {
+        long size = logChannel.size();
+        ByteBuffer content = ByteBuffer.allocate((int) size);
+        logChannel.position(0);
+        while (content.hasRemaining() && logChannel.read(content) >= 0) {}
+        content.flip();
+
+        Map<String, List<Record>> tail = new HashMap<>();
+        int replayed = 0;
+        long validLength = 0;
+        while (content.remaining() >= 4) {
+            int length = content.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || content.remaining() < length) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            content.get(payload);
+            Record record;
+            try {
+                record = decode(payload);
+            } catch (IOException e) {
+                // A damaged record with an intact length; everything after it is dropped like a torn tail
+                break;
+            }
+            validLength = content.position();
+
+            nextSeq = Math.max(nextSeq, record.seq + 1);
+            if (record.seq > checkpointSeq) {
+                tail.computeIfAbsent(record.folder, key -> new ArrayList<>()).add(record);
+                replayed++;
+            }
+        }
+
+        // Drop a record torn by a crash (or damaged), so new appends start on a record boundary
+        if (validLength < size) {
+            LOGGER.warn("Truncating {} bytes of incomplete world history records", size - validLength);
+            logChannel.truncate(validLength);
+        }
+        LOGGER.debug("Replayed {} world history records", replayed);
+        return tail;
+    }
+
+    private static byte[] encode(Record record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(record.seq);
+        out.writeLong(record.time);
+        out.writeUTF(record.folder);
+        out.writeInt(record.flags);
+        out.writeLong(record.lastPlayed);
+        out.writeLong(record.sizeBytes);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Record decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = in.readLong();
+        long time = in.readLong();
+        String folder = in.readUTF();
+        int flags = in.readInt();
+        long lastPlayed = in.readLong();
+        long sizeBytes = in.readLong();
+        return new Record(seq, time, folder, flags, lastPlayed, sizeBytes);
+    }
+}
@@ -0,0 +1,101 @@
+package com.fancymenu.worldpanels.managers;
+
+import com.fancymenu.worldpanels.data.WorldInfo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves a world from a user-written name, built once per world snapshot.
+ *
+ * A name is matched against these forms, in order of precedence (tiers):
+ * 1. the folder name
+ * 2. the display name (LevelName)
+ * 3. the folder name, ignoring case
+ * 4. the display name, ignoring case
+ * 5. the slug of either ("My World_2!" -> "my-world-2")
+ * The first tier with a match wins; within a tier, the most recently played world wins.
+ * Every lookup is at most five hash lookups.
+ */
+public final class WorldNameIndex {
+
+    private static final int TIERS = 5;
+
+    private final Map<String, WorldInfo>[] tiers;
+
+    @SuppressWarnings("unchecked")
+    WorldNameIndex(List<WorldInfo> worlds) {
+        tiers = new Map[TIERS];
+        for (int i = 0; i < TIERS; i++) {
+            tiers[i] = new HashMap<>(worlds.size() * 2);
+        }
+
+        for (WorldInfo world : worlds) {
+            String folder = world.getFolderName();
+            String display = world.getWorldName();
+            add(0, folder, world);
+            add(1, display, world);
+            add(2, fold(folder), world);
+            add(3, fold(display), world);
+            add(4, slug(folder), world);
+            add(4, slug(display), world);
+        }
+    }
+
+    private void add(int tier, String key, WorldInfo world) {
+        if (key == null || key.isEmpty()) return;
+
+        WorldInfo existing = tiers[tier].get(key);
+        if (existing == null || world.getLastPlayed() > existing.getLastPlayed()) {
+            tiers[tier].put(key, world);
+        }
+    }
+
+    /**
+     * Find a world by folder name, display name, or their case-folded or slug forms.
+     *
+     * @return The best match, or null if no world matches
+     */
+    public WorldInfo find(String name) {
+        if (name == null || name.isEmpty()) return null;
+
+        WorldInfo world = tiers[0].get(name);
+        if (world == null) world = tiers[1].get(name);
+        if (world == null) {
+            String folded = fold(name);
+            world = tiers[2].get(folded);
+            if (world == null) world = tiers[3].get(folded);
+        }
+        if (world == null) world = tiers[4].get(slug(name));
+        return world;
+    }
+
+    private static String fold(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Lowercase letters and digits, with every other run of characters replaced by a single "-".
+     */
+    static String slug(String name) {
+        if (name == null) return null;
+
+        StringBuilder slug = new StringBuilder(name.length());
+        boolean separator = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && slug.length() > 0) {
+                    slug.append('-');
+                }
+                slug.append(Character.toLowerCase(c));
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return slug.toString();
+    }
+}
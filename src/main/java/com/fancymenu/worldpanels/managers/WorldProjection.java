@@ -0,0 +1,291 @@
+package com.fancymenu.worldpanels.managers;
+
+import com.fancymenu.worldpanels.data.WorldField;
+import com.fancymenu.worldpanels.data.WorldInfo;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * All {@link WorldField} values of one world snapshot, evaluated once.
+ *
+ * Built by the WorldDataManager once per snapshot version and shared by every consumer,
+ * so dates and sizes are formatted once per change instead of once per call. Derived views
+ * (map view, compact JSON per world, flattened value table per world, name index) are created on first
+ * use and cached as well. Projections never change once built and are safe to share between threads.
+ */
+public final class WorldProjection {
+
+    public static final String EXPORT_VERSION = "1.0.0";
+
+    private final long version;
+    private final String createdAt;
+    private final List<WorldInfo> worlds;
+    private final Object[][] values;
+    private final Map<String, Object> aggregates;
+
+    // Lazily derived views
+    private volatile Map<String, Object> mapView;
+    private volatile WorldNameIndex nameIndex;
+    private final byte[][] worldJson;
+    private final Map<String, String>[] valueTables;
+    private final Map<Set<WorldField>, byte[][]> selectedJson = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    WorldProjection(long version, List<WorldInfo> worlds, Map<String, Object> aggregates) {
+        this.version = version;
+        this.aggregates = aggregates;
+        this.createdAt = Instant.now().toString();
+        this.worlds = Collections.unmodifiableList(new ArrayList<>(worlds));
+
+        WorldField[] fields = WorldField.all();
+        this.values = new Object[worlds.size()][];
+        for (int i = 0; i < worlds.size(); i++) {
+            Object[] row = new Object[fields.length];
+            for (WorldField field : fields) {
+                row[field.ordinal()] = field.get(worlds.get(i));
+            }
+            values[i] = row;
+        }
+
+        this.worldJson = new byte[worlds.size()][];
+        this.valueTables = new Map[worlds.size()];
+    }
+
+    /**
+     * Snapshot version this projection was built from.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Time this projection was built (ISO-8601), used as lastUpdated.
+     */
+    public String getCreatedAt() { return createdAt; }
+
+    public List<WorldInfo> getWorlds() { return worlds; }
+
+    public int size() { return worlds.size(); }
+
+    /**
+     * Library-wide aggregates at the time of this snapshot (see {@link WorldAggregates#toMap()}).
+     */
+    public Map<String, Object> getAggregates() { return aggregates; }
+
+    /**
+     * Aggregate placeholder value at the time of this snapshot (see {@link WorldAggregates#getAggregate(String)}).
+     *
+     * @param type Lowercase aggregate type
+     * @return The value, or null if the type is unknown
+     */
+    public String getAggregate(String type) {
+        return WorldAggregates.resolve(aggregates, type);
+    }
+
+    /**
+     * Get a field value of a world.
+     *
+     * @return The value (String, Number, Boolean or Map), or null if omitted
+     */
+    public Object getValue(int index, WorldField field) {
+        return values[index][field.ordinal()];
+    }
+
+    /**
+     * Name index of the worlds in this snapshot, built on first use.
+     */
+    public WorldNameIndex getNameIndex() {
+        WorldNameIndex index = nameIndex;
+        if (index == null) {
+            index = new WorldNameIndex(worlds);
+            nameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Map view: count, lastUpdated, exportVersion, aggregates and the worlds as key/value maps.
+     * Unmodifiable and shared, with the values as exported (WorldDataManager.getWorldDataAsMap
+     * returns a modifiable copy).
+     */
+    public Map<String, Object> asMap() {
+        Map<String, Object> view = mapView;
+        if (view == null) {
+            List<Map<String, Object>> worldMaps = new ArrayList<>(worlds.size());
+            for (int i = 0; i < worlds.size(); i++) {
+                Map<String, Object> worldMap = new LinkedHashMap<>();
+                worldMap.put("index", i);
+                for (WorldField field : WorldField.all()) {
+                    Object value = values[i][field.ordinal()];
+                    if (value != null) {
+                        worldMap.put(field.getJsonKey(), value);
+                    }
+                }
+                worldMaps.add(Collections.unmodifiableMap(worldMap));
+            }
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("count", worlds.size());
+            data.put("lastUpdated", createdAt);
+            data.put("exportVersion", EXPORT_VERSION);
+            data.put("aggregates", aggregates);
+            data.put("worlds", Collections.unmodifiableList(worldMaps));
+            view = Collections.unmodifiableMap(data);
+            mapView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Compact UTF-8 JSON of one world, as written to its shard file (do not modify).
+     */
+    public synchronized byte[] getWorldJson(int index) {
+        byte[] json = worldJson[index];
+        if (json == null) {
+            json = serializeWorld(index, null);
+            worldJson[index] = json;
+        }
+        return json;
+    }
+
+    /**
+     * Compact UTF-8 JSON of one world with only the given fields (plus its index).
+     * Cached per field set, like {@link #getWorldJson(int)}.
+     */
+    public synchronized byte[] getWorldJson(int index, Set<WorldField> fields) {
+        if (fields.size() == WorldField.all().length) {
+            return getWorldJson(index);
+        }
+
+        byte[][] cache = selectedJson.computeIfAbsent(fields, key -> new byte[worlds.size()][]);
+        byte[] json = cache[index];
+        if (json == null) {
+            json = serializeWorld(index, fields);
+            cache[index] = json;
+        }
+        return json;
+    }
+
+    private byte[] serializeWorld(int index, Set<WorldField> fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.setHtmlSafe(true);
+            writer.setSerializeNulls(false);
+            writeWorld(writer, index, fields);
+        } catch (IOException e) {
+            // In-memory streams do not throw
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Flattened primitive values of one world, keyed by JSON path relative to the world
+     * object (e.g. "name", "sizeByDimension.overworld"), as text.
+     */
+    public synchronized Map<String, String> getValueTable(int index) {
+        Map<String, String> table = valueTables[index];
+        if (table == null) {
+            Map<String, String> flat = new HashMap<>();
+            flat.put("index", String.valueOf(index));
+            for (WorldField field : WorldField.all()) {
+                flatten(field.getJsonKey(), values[index][field.ordinal()], flat);
+            }
+            table = Collections.unmodifiableMap(flat);
+            valueTables[index] = table;
+        }
+        return table;
+    }
+
+    /**
+     * Flattened primitive aggregate values, keyed by JSON path relative to the aggregates
+     * object (e.g. "totalSizeBytes", "gameModes.survival"), as text.
+     */
+    public Map<String, String> getAggregateTable() {
+        Map<String, String> flat = new HashMap<>();
+        for (Map.Entry<String, Object> entry : aggregates.entrySet()) {
+            flatten(entry.getKey(), entry.getValue(), flat);
+        }
+        return flat;
+    }
+
+    /**
+     * Stream the aggregates object.
+     */
+    public void writeAggregates(JsonWriter writer) throws IOException {
+        writeValue(writer, aggregates);
+    }
+
+    /**
+     * Stream the JSON object of one world.
+     */
+    public void writeWorld(JsonWriter writer, int index) throws IOException {
+        writeWorld(writer, index, null);
+    }
+
+    /**
+     * Stream the JSON object of one world with only the given fields (plus its index).
+     *
+     * @param fields The fields to write, or null for all
+     */
+    public void writeWorld(JsonWriter writer, int index, Set<WorldField> fields) throws IOException {
+        writer.beginObject();
+        writer.name("index").value(index);
+        for (WorldField field : WorldField.all()) {
+            if (fields != null && !fields.contains(field)) {
+                continue;
+            }
+            Object value = values[index][field.ordinal()];
+            if (value != null) {
+                writer.name(field.getJsonKey());
+                writeValue(writer, value);
+            }
+        }
+        writer.endObject();
+    }
+
+    private static void writeValue(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else if (value instanceof String) {
+            writer.value((String) value);
+        } else if (value instanceof Boolean) {
+            writer.value((Boolean) value);
+        } else if (value instanceof Number) {
+            writer.value((Number) value);
+        } else if (value instanceof Map) {
+            writer.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+                writeValue(writer, entry.getValue());
+            }
+            writer.endObject();
+        } else {
+            writer.value(value.toString());
+        }
+    }
+
+    private static void flatten(String path, Object value, Map<String, String> flat) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                flatten(path + "." + entry.getKey(), entry.getValue(), flat);
+            }
+        } else {
+            flat.put(path, value.toString());
+        }
+    }
+}
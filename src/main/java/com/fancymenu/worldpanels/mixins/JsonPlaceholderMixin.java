@@ -0,0 +1,38 @@
+package com.fancymenu.worldpanels.mixins;
+
+import com.fancymenu.worldpanels.exporters.ExportJsonIndex;
+import com.fancymenu.worldpanels.exporters.WorldDataExporter;
+import de.keksuccino.fancymenu.customization.placeholder.DeserializedPlaceholderString;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Pseudo;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Answers FancyMenu json placeholders on our export files from memory.
+ *
+ * Only queries the {@link ExportJsonIndex} can answer are cancelled, everything else
+ * (other files, complex JSON paths, the exporter not running) falls through to
+ * FancyMenu's own file read. Pseudo target, so the mod still loads without FancyMenu.
+ */
+@Environment(EnvType.CLIENT)
+@Pseudo
+@Mixin(targets = "de.keksuccino.fancymenu.customization.placeholder.placeholders.advanced.JsonPlaceholder", remap = false)
+public class JsonPlaceholderMixin {
+
+    @Inject(method = "getReplacementFor", at = @At("HEAD"), cancellable = true, remap = false, require = 0)
+    private void worldpanels$answerFromMemory(DeserializedPlaceholderString dps, CallbackInfoReturnable<String> cir) {
+        ExportJsonIndex index = WorldDataExporter.getActiveJsonIndex();
+        if (index == null) {
+            return;
+        }
+
+        String answer = index.lookup(dps.values.get("source"), dps.values.get("json_path"));
+        if (answer != null) {
+            cir.setReturnValue(answer);
+        }
+    }
+}
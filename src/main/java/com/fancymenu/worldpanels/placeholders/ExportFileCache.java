@@ -0,0 +1,129 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed export files for the placeholder JSON fallback.
+ *
+ * Each file is read and parsed once and flattened into a map from dot path
+ * ("worlds.0.name", "worlds.0.sizeByDimension.nether") to its primitive value, so a lookup
+ * is a hash lookup. Entries are keyed by the file's modification time and size and are
+ * only re-read when those change. The file system is checked again after {@link #invalidate()}
+ * (called by the exporter after it wrote new files) or, for edits made by anything else,
+ * at most every {@link #RECHECK_INTERVAL_MS}.
+ */
+public final class ExportFileCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportFileCache.class);
+
+    private static final long RECHECK_INTERVAL_MS = 5000;
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static volatile long generation = 0;
+
+    /**
+     * Flattened content of one file version.
+     */
+    private static final class Entry {
+        final long lastModified;
+        final long length;
+        final Map<String, String> values;
+        volatile long checkedGeneration;
+        volatile long checkedAt;
+
+        Entry(long lastModified, long length, Map<String, String> values, long checkedGeneration, long checkedAt) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.values = values;
+            this.checkedGeneration = checkedGeneration;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    private ExportFileCache() {}
+
+    /**
+     * Look up a value in an export file.
+     *
+     * @param file The export file
+     * @param path Dot path of a primitive value, e.g. "worlds.0.name"
+     * @return The value as text, or null if the file or path does not exist
+     */
+    static String lookup(File file, String path) {
+        Map<String, String> values = getValues(file);
+        return values != null ? values.get(path) : null;
+    }
+
+    /**
+     * Mark all cached files for a check against the file system on next use.
+     * Called by the exporter after writing the export files.
+     */
+    public static void invalidate() {
+        generation++;
+    }
+
+    private static Map<String, String> getValues(File file) {
+        String key = file.getPath();
+        long currentGeneration = generation;
+        long now = System.currentTimeMillis();
+
+        Entry entry = ENTRIES.get(key);
+        if (entry != null && entry.checkedGeneration == currentGeneration && now - entry.checkedAt < RECHECK_INTERVAL_MS) {
+            return entry.values;
+        }
+
+        long lastModified = file.lastModified();
+        long length = file.length();
+        if (lastModified == 0) {
+            // Missing file
+            ENTRIES.put(key, new Entry(0, 0, null, currentGeneration, now));
+            return null;
+        }
+        if (entry != null && entry.lastModified == lastModified && entry.length == length) {
+            entry.checkedGeneration = currentGeneration;
+            entry.checkedAt = now;
+            return entry.values;
+        }
+
+        Map<String, String> values = null;
+        try {
+            JsonElement json = JsonParser.parseString(Files.readString(file.toPath()));
+            Map<String, String> flat = new HashMap<>();
+            flatten(json, "", flat);
+            values = Collections.unmodifiableMap(flat);
+            LOGGER.debug("Indexed {} values of {}", flat.size(), file.getName());
+        } catch (Exception e) {
+            // Also cached, so a broken file is not re-parsed until it changes
+            LOGGER.debug("Failed to parse export file {}", file.getPath(), e);
+        }
+        ENTRIES.put(key, new Entry(lastModified, length, values, currentGeneration, now));
+        return values;
+    }
+
+    private static void flatten(JsonElement element, String path, Map<String, String> values) {
+        if (element.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> member : ((JsonObject) element).entrySet()) {
+                flatten(member.getValue(), path.isEmpty() ? member.getKey() : path + "." + member.getKey(), values);
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = (JsonArray) element;
+            for (int i = 0; i < array.size(); i++) {
+                flatten(array.get(i), path.isEmpty() ? String.valueOf(i) : path + "." + i, values);
+            }
+        } else if (element.isJsonPrimitive()) {
+            values.put(path, element.getAsString());
+        }
+    }
+}
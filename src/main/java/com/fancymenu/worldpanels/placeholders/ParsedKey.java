@@ -0,0 +1,174 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import com.fancymenu.worldpanels.data.WorldProperty;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A world placeholder, classified once by a single-pass tokenizer.
+ *
+ * Recognized forms (after removing any %, { and } characters):
+ * - worldpanels_world_&lt;n&gt;_&lt;property&gt;: world by 1-based index
+ * - worldpanels_world_&lt;name&gt;_&lt;property&gt;: world by name; names containing underscores
+ *   are written as [My_World] or My\_World (a bracketed name is never an index)
+ * - worldpanels_list_&lt;type&gt;
+ * - worldpanels_aggregate_&lt;type&gt;
+ * - worldpanels_count
+ * Anything else is {@link Kind#OTHER} and only resolved through the JSON export files.
+ *
+ * Keys are immutable and cached per input string, so a placeholder is only tokenized once,
+ * and the property name is resolved to its {@link WorldProperty} at that point.
+ */
+final class ParsedKey {
+
+    private static final String PREFIX = "worldpanels_";
+    private static final String WORLD_PREFIX = "world_";
+    private static final String LIST_PREFIX = "list_";
+    private static final String AGGREGATE_PREFIX = "aggregate_";
+    private static final int MAX_CACHED_KEYS = 1024;
+
+    private static final Map<String, ParsedKey> CACHE = new ConcurrentHashMap<>();
+
+    enum Kind {
+        INDEX,
+        NAME,
+        LIST,
+        AGGREGATE,
+        COUNT,
+        OTHER
+    }
+
+    final Kind kind;
+    /** The placeholder without %, { and } characters. */
+    final String clean;
+    /** 0-based world index (INDEX), -1 otherwise. */
+    final int index;
+    /** World name (NAME), list type (LIST) or aggregate type (AGGREGATE), null otherwise. */
+    final String name;
+    /** Property as written (INDEX, NAME), null otherwise. */
+    final String property;
+    /** Lowercase property (INDEX, NAME), null otherwise. */
+    final String propertyLower;
+    /** Registered property the name resolves to, null if it is not registered (e.g. history properties). */
+    final WorldProperty worldProperty;
+
+    private ParsedKey(Kind kind, String clean, int index, String name, String property) {
+        this.kind = kind;
+        this.clean = clean;
+        this.index = index;
+        this.name = name;
+        this.property = property;
+        this.propertyLower = property != null ? property.toLowerCase(Locale.ROOT) : null;
+        this.worldProperty = property != null ? WorldProperty.byName(propertyLower) : null;
+    }
+
+    /**
+     * Get the parsed form of a placeholder, tokenizing it on first use.
+     */
+    static ParsedKey of(String placeholder) {
+        ParsedKey key = CACHE.get(placeholder);
+        if (key == null) {
+            key = parse(placeholder);
+            if (CACHE.size() >= MAX_CACHED_KEYS) {
+                CACHE.clear();
+            }
+            CACHE.put(placeholder, key);
+        }
+        return key;
+    }
+
+    private static ParsedKey parse(String placeholder) {
+        String clean = strip(placeholder);
+        if (!clean.startsWith(PREFIX)) {
+            return other(clean);
+        }
+
+        int start = PREFIX.length();
+        if (clean.length() == start + 5 && clean.startsWith("count", start)) {
+            return new ParsedKey(Kind.COUNT, clean, -1, null, null);
+        }
+        if (clean.startsWith(LIST_PREFIX, start) && clean.length() > start + LIST_PREFIX.length()) {
+            return new ParsedKey(Kind.LIST, clean, -1, clean.substring(start + LIST_PREFIX.length()), null);
+        }
+        if (clean.startsWith(AGGREGATE_PREFIX, start) && clean.length() > start + AGGREGATE_PREFIX.length()) {
+            return new ParsedKey(Kind.AGGREGATE, clean, -1, clean.substring(start + AGGREGATE_PREFIX.length()), null);
+        }
+        if (!clean.startsWith(WORLD_PREFIX, start)) {
+            return other(clean);
+        }
+
+        // world_<selector>_<property>
+        int selectorStart = start + WORLD_PREFIX.length();
+        if (clean.startsWith("[", selectorStart)) {
+            // Bracketed name: everything up to "]_"
+            int close = clean.indexOf("]_", selectorStart + 1);
+            if (close <= selectorStart + 1 || close + 2 >= clean.length()) {
+                return other(clean);
+            }
+            return new ParsedKey(Kind.NAME, clean, -1, clean.substring(selectorStart + 1, close), clean.substring(close + 2));
+        }
+
+        // Plain selector: ends at the first underscore not escaped as "\_"
+        StringBuilder selector = new StringBuilder();
+        int separator = -1;
+        for (int i = selectorStart; i < clean.length(); i++) {
+            char c = clean.charAt(i);
+            if (c == '\\' && i + 1 < clean.length() && clean.charAt(i + 1) == '_') {
+                selector.append('_');
+                i++;
+            } else if (c == '_') {
+                separator = i;
+                break;
+            } else {
+                selector.append(c);
+            }
+        }
+        if (separator < 0 || selector.length() == 0 || separator == clean.length() - 1) {
+            return other(clean);
+        }
+        String property = clean.substring(separator + 1);
+
+        int index = separator - selectorStart == selector.length() ? parseIndex(selector.toString()) : -1;
+        if (index >= 0) {
+            return new ParsedKey(Kind.INDEX, clean, index - 1, null, property);
+        }
+        return new ParsedKey(Kind.NAME, clean, -1, selector.toString(), property);
+    }
+
+    private static ParsedKey other(String clean) {
+        return new ParsedKey(Kind.OTHER, clean, -1, null, null);
+    }
+
+    /**
+     * Remove %, { and } characters, without copying if there are none.
+     */
+    private static String strip(String placeholder) {
+        StringBuilder clean = null;
+        for (int i = 0; i < placeholder.length(); i++) {
+            char c = placeholder.charAt(i);
+            boolean wrapper = c == '%' || c == '{' || c == '}';
+            if (wrapper && clean == null) {
+                clean = new StringBuilder(placeholder.length()).append(placeholder, 0, i);
+            } else if (!wrapper && clean != null) {
+                clean.append(c);
+            }
+        }
+        return clean != null ? clean.toString() : placeholder;
+    }
+
+    /**
+     * Parse an all-digit selector, or -1 if it is not a number that fits an int.
+     */
+    private static int parseIndex(String selector) {
+        long value = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) return -1;
+        }
+        return (int) value;
+    }
+}
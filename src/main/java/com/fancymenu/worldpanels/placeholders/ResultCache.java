@@ -0,0 +1,86 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved placeholder texts of one world snapshot.
+ *
+ * Results are keyed by the placeholder as written, which maps to exactly one {@link ParsedKey}.
+ * The whole cache belongs to a single WorldDataManager snapshot version and is dropped as soon
+ * as a newer version is seen. Results that also depend on the clock (the history properties,
+ * e.g. sessions_today) remember the time bucket they were computed in and are recomputed in
+ * the next one. A hit is one hash lookup and allocates nothing.
+ */
+final class ResultCache {
+
+    static final long TIME_BUCKET_MS = 60L * 1000;
+
+    private static final long NO_BUCKET = -1;
+    private static final int MAX_ENTRIES = 2048;
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static volatile long version = -1;
+
+    private static final class Entry {
+        final String value;
+        final long version;
+        final long bucket;
+
+        Entry(String value, long version, long bucket) {
+            this.value = value;
+            this.version = version;
+            this.bucket = bucket;
+        }
+    }
+
+    private ResultCache() {}
+
+    /**
+     * Get the cached result of a placeholder.
+     *
+     * @param snapshotVersion The current snapshot version
+     * @return The result, or null if it is not cached for this version (and time bucket)
+     */
+    static String get(String placeholder, long snapshotVersion) {
+        if (snapshotVersion != version) return null;
+
+        Entry entry = ENTRIES.get(placeholder);
+        // Entries also carry their version, in case one was stored while the cache was being reset
+        if (entry == null || entry.version != snapshotVersion) return null;
+        if (entry.bucket != NO_BUCKET && entry.bucket != currentBucket()) return null;
+        return entry.value;
+    }
+
+    /**
+     * Cache the result of a placeholder.
+     *
+     * @param snapshotVersion The snapshot version read before the result was computed
+     * @param timeDependent Whether the result also changes with the clock
+     */
+    static void put(String placeholder, long snapshotVersion, boolean timeDependent, String value) {
+        if (snapshotVersion < 0) return;
+
+        if (snapshotVersion != version) {
+            synchronized (ResultCache.class) {
+                if (snapshotVersion < version) {
+                    // Computed from an older snapshot than the cache already holds
+                    return;
+                }
+                if (snapshotVersion > version) {
+                    ENTRIES.clear();
+                    version = snapshotVersion;
+                }
+            }
+        }
+
+        if (ENTRIES.size() >= MAX_ENTRIES) {
+            ENTRIES.clear();
+        }
+        ENTRIES.put(placeholder, new Entry(value, snapshotVersion, timeDependent ? currentBucket() : NO_BUCKET));
+    }
+
+    private static long currentBucket() {
+        return System.currentTimeMillis() / TIME_BUCKET_MS;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import de.keksuccino.fancymenu.customization.placeholder.DeserializedPlaceholderString;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A value over all worlds, e.g. their total size (worldpanels_aggregate_&lt;type&gt;).
+ */
+@Environment(EnvType.CLIENT)
+class WorldAggregatePlaceholder extends WorldPanelsPlaceholder {
+
+    WorldAggregatePlaceholder() {
+        super("worldpanels_aggregate");
+    }
+
+    @Override
+    String toPlaceholder(Map<String, String> values) {
+        String type = value(values, "type");
+        return type != null ? "worldpanels_aggregate_" + type : null;
+    }
+
+    @Override
+    public List<String> getValueNames() {
+        return List.of("type");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "World Library Statistic";
+    }
+
+    @Override
+    public List<String> getDescription() {
+        return List.of(
+            "A value over all worlds",
+            "Types: count, total_size, total_size_bytes, hardcore_count, newest, oldest,",
+            "survival_count, creative_count, ..., peaceful_count, hard_count, ..."
+        );
+    }
+
+    @Override
+    public DeserializedPlaceholderString getDefaultPlaceholderString() {
+        return defaultString(getIdentifier(), "type", "total_size");
+    }
+}
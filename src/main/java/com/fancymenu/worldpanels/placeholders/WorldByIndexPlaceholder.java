@@ -0,0 +1,52 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import de.keksuccino.fancymenu.customization.placeholder.DeserializedPlaceholderString;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A property of the world at a 1-based position of the world list (worldpanels_world_&lt;n&gt;_&lt;property&gt;).
+ */
+@Environment(EnvType.CLIENT)
+class WorldByIndexPlaceholder extends WorldPanelsPlaceholder {
+
+    WorldByIndexPlaceholder() {
+        super("worldpanels_world");
+    }
+
+    @Override
+    String toPlaceholder(Map<String, String> values) {
+        String index = value(values, "index");
+        String property = value(values, "property");
+        if (index == null || property == null || !index.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return "worldpanels_world_" + index + "_" + property;
+    }
+
+    @Override
+    public List<String> getValueNames() {
+        return List.of("index", "property");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "World Property (by Index)";
+    }
+
+    @Override
+    public List<String> getDescription() {
+        return List.of(
+            "A property of the world at a position of the world list (1 = first)",
+            "Properties: name, folder, gamemode, difficulty, last_played, size, player_health, ..."
+        );
+    }
+
+    @Override
+    public DeserializedPlaceholderString getDefaultPlaceholderString() {
+        return defaultString(getIdentifier(), "index", "1", "property", "name");
+    }
+}
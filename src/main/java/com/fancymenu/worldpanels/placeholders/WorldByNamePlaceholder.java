@@ -0,0 +1,53 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import de.keksuccino.fancymenu.customization.placeholder.DeserializedPlaceholderString;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A property of the world with a folder or display name (worldpanels_world_[&lt;name&gt;]_&lt;property&gt;).
+ */
+@Environment(EnvType.CLIENT)
+class WorldByNamePlaceholder extends WorldPanelsPlaceholder {
+
+    WorldByNamePlaceholder() {
+        super("worldpanels_world_by_name");
+    }
+
+    @Override
+    String toPlaceholder(Map<String, String> values) {
+        String name = value(values, "name");
+        String property = value(values, "property");
+        if (name == null || property == null || name.contains("]_")) {
+            return null;
+        }
+        // Bracketed, so names with underscores or digits only are matched by name
+        return "worldpanels_world_[" + name + "]_" + property;
+    }
+
+    @Override
+    public List<String> getValueNames() {
+        return List.of("name", "property");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "World Property (by Name)";
+    }
+
+    @Override
+    public List<String> getDescription() {
+        return List.of(
+            "A property of the world with this folder or display name (case-insensitive)",
+            "Properties: name, folder, gamemode, difficulty, last_played, size, player_health, ..."
+        );
+    }
+
+    @Override
+    public DeserializedPlaceholderString getDefaultPlaceholderString() {
+        return defaultString(getIdentifier(), "name", "New World", "property", "last_played");
+    }
+}
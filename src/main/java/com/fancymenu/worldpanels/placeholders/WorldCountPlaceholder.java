@@ -0,0 +1,44 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import de.keksuccino.fancymenu.customization.placeholder.DeserializedPlaceholderString;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The number of worlds (worldpanels_count).
+ */
+@Environment(EnvType.CLIENT)
+class WorldCountPlaceholder extends WorldPanelsPlaceholder {
+
+    WorldCountPlaceholder() {
+        super("worldpanels_count");
+    }
+
+    @Override
+    String toPlaceholder(Map<String, String> values) {
+        return "worldpanels_count";
+    }
+
+    @Override
+    public List<String> getValueNames() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "World Count";
+    }
+
+    @Override
+    public List<String> getDescription() {
+        return List.of("The number of worlds in the saves folder");
+    }
+
+    @Override
+    public DeserializedPlaceholderString getDefaultPlaceholderString() {
+        return defaultString(getIdentifier());
+    }
+}
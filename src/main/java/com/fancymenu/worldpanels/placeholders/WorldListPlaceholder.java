@@ -0,0 +1,48 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import de.keksuccino.fancymenu.customization.placeholder.DeserializedPlaceholderString;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list over all worlds (worldpanels_list_&lt;type&gt;).
+ */
+@Environment(EnvType.CLIENT)
+class WorldListPlaceholder extends WorldPanelsPlaceholder {
+
+    WorldListPlaceholder() {
+        super("worldpanels_list");
+    }
+
+    @Override
+    String toPlaceholder(Map<String, String> values) {
+        String type = value(values, "type");
+        return type != null ? "worldpanels_list_" + type : null;
+    }
+
+    @Override
+    public List<String> getValueNames() {
+        return List.of("type");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "World List";
+    }
+
+    @Override
+    public List<String> getDescription() {
+        return List.of(
+            "A comma-separated list of worlds",
+            "Types: names, recent (5 most recently played), count"
+        );
+    }
+
+    @Override
+    public DeserializedPlaceholderString getDefaultPlaceholderString() {
+        return defaultString(getIdentifier(), "type", "names");
+    }
+}
@@ -0,0 +1,93 @@
+package com.fancymenu.worldpanels.placeholders;
+
+import de.keksuccino.fancymenu.customization.placeholder.DeserializedPlaceholderString;
+import de.keksuccino.fancymenu.customization.placeholder.Placeholder;
+import de.keksuccino.fancymenu.customization.placeholder.PlaceholderRegistry;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base of the native FancyMenu placeholders of World Panels.
+ *
+ * Each placeholder maps its values to the equivalent worldpanels_ placeholder
+ * ({"placeholder":"worldpanels_world","values":{"index":"1","property":"name"}} to
+ * worldpanels_world_1_name), which {@link WorldPlaceholderParser} resolves against the
+ * in-memory world snapshot, without reading the export files. The mapping is cached per
+ * set of values, so a repeated placeholder costs the argument lookup plus the result cache lookup.
+ */
+@Environment(EnvType.CLIENT)
+public abstract class WorldPanelsPlaceholder extends Placeholder {
+
+    static final String CATEGORY = "World Panels";
+
+    private static final int MAX_CACHED_KEYS = 512;
+
+    // Values (after nested placeholders were replaced) -> worldpanels_ placeholder
+    private final Map<Map<String, String>, String> keys = new ConcurrentHashMap<>();
+
+    WorldPanelsPlaceholder(String id) {
+        super(id);
+    }
+
+    /**
+     * Register all World Panels placeholders with FancyMenu's PlaceholderRegistry.
+     */
+    public static void registerAll() {
+        PlaceholderRegistry.register(new WorldByIndexPlaceholder());
+        PlaceholderRegistry.register(new WorldByNamePlaceholder());
+        PlaceholderRegistry.register(new WorldListPlaceholder());
+        PlaceholderRegistry.register(new WorldCountPlaceholder());
+        PlaceholderRegistry.register(new WorldAggregatePlaceholder());
+    }
+
+    @Override
+    public String getReplacementFor(DeserializedPlaceholderString dps) {
+        Map<String, String> values = dps.values != null ? dps.values : Map.of();
+        String key = keys.get(values);
+        if (key == null) {
+            key = toPlaceholder(values);
+            if (key == null) {
+                return "";
+            }
+            if (keys.size() >= MAX_CACHED_KEYS) {
+                keys.clear();
+            }
+            keys.put(new HashMap<>(values), key);
+        }
+
+        String result = WorldPlaceholderParser.resolveFromSnapshot(key);
+        return result != null ? result : "";
+    }
+
+    /**
+     * Build the worldpanels_ placeholder for a set of values.
+     *
+     * @return The placeholder, or null if a required value is missing or invalid
+     */
+    abstract String toPlaceholder(Map<String, String> values);
+
+    @Override
+    public String getCategory() {
+        return CATEGORY;
+    }
+
+    static String value(Map<String, String> values, String name) {
+        String value = values.get(name);
+        if (value == null) return null;
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static DeserializedPlaceholderString defaultString(String id, String... nameValuePairs) {
+        LinkedHashMap<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < nameValuePairs.length; i += 2) {
+            values.put(nameValuePairs[i], nameValuePairs[i + 1]);
+        }
+        return new DeserializedPlaceholderString(id, values, "");
+    }
+}
@@ -1,19 +1,18 @@
 package com.fancymenu.worldpanels.placeholders;
 
 import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.data.WorldProperty;
 import com.fancymenu.worldpanels.managers.WorldDataManager;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.fancymenu.worldpanels.managers.WorldHistoryManager;
+import com.fancymenu.worldpanels.managers.WorldProjection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -23,15 +22,7 @@ import java.util.stream.Collectors;
 public class WorldPlaceholderParser {
     private static final Logger LOGGER = LoggerFactory.getLogger(WorldPlaceholderParser.class);
     
-    // Placeholder patterns
-    private static final Pattern WORLD_INDEX_PATTERN = Pattern.compile("worldpanels_world_(\\d+)_(.+)");
-    private static final Pattern WORLD_NAME_PATTERN = Pattern.compile("worldpanels_world_([^_]+)_(.+)");
-    private static final Pattern WORLD_LIST_PATTERN = Pattern.compile("worldpanels_list_(.+)");
-    private static final Pattern WORLD_COUNT_PATTERN = Pattern.compile("worldpanels_count");
-    
     private static Map<String, Object> cachedWorldData = new HashMap<>();
-    private static long lastCacheUpdate = 0;
-    private static final long CACHE_DURATION = 5000; // 5 seconds
     
     /**
      * Parse a placeholder and return its value
@@ -41,83 +32,161 @@ public class WorldPlaceholderParser {
             return placeholder;
         }
         
-        // Remove prefix/suffix if present
-        String cleanPlaceholder = placeholder.replace("%", "").replace("{", "").replace("}", "");
-        
+        String result = resolveFromSnapshot(placeholder);
+        return result != null ? result : parseFromExportFiles(placeholder);
+    }
+    
+    /**
+     * Fallback for placeholders the snapshot cannot answer: the export files, else the placeholder itself
+     */
+    private static String parseFromExportFiles(String placeholder) {
+        ParsedKey key = ParsedKey.of(placeholder);
         try {
-            // Update cache if needed
-            updateCacheIfNeeded();
-            
-            // Try different placeholder patterns
-            String result = parseWorldIndexPlaceholder(cleanPlaceholder);
-            if (result != null) return result;
-            
-            result = parseWorldNamePlaceholder(cleanPlaceholder);
-            if (result != null) return result;
-            
-            result = parseWorldListPlaceholder(cleanPlaceholder);
-            if (result != null) return result;
-            
-            result = parseWorldCountPlaceholder(cleanPlaceholder);
-            if (result != null) return result;
-            
-            // Try loading from JSON files
-            result = parseFromJsonFiles(cleanPlaceholder);
+            // Try loading from JSON files (not cached here, the files change independently of the snapshot)
+            String result = parseFromJsonFiles(key.clean);
             if (result != null) return result;
             
         } catch (Exception e) {
-            LOGGER.debug("Failed to parse placeholder: {}", cleanPlaceholder, e);
+            LOGGER.debug("Failed to parse placeholder: {}", key.clean, e);
         }
         
         // Return original placeholder if not found
-        return "%" + cleanPlaceholder + "%";
+        return "%" + key.clean + "%";
     }
     
     /**
-     * Parse world placeholders by index (worldpanels_world_1_name)
+     * Parse several placeholders against one pinned world snapshot.
+     * The world cache is checked once, every distinct placeholder is resolved once, and all
+     * results come from the same snapshot (e.g. worldpanels_count agrees with the indices).
+     *
+     * @return The values, in the order of the placeholders
      */
-    private static String parseWorldIndexPlaceholder(String placeholder) {
-        Matcher matcher = WORLD_INDEX_PATTERN.matcher(placeholder);
-        if (!matcher.matches()) return null;
+    public static List<String> parsePlaceholders(List<String> placeholders) {
+        // No refresh here either, see resolveFromSnapshot
+        WorldProjection projection = getProjection();
+        
+        List<String> results = new ArrayList<>(placeholders.size());
+        Map<String, String> resolved = new HashMap<>();
+        for (String placeholder : placeholders) {
+            if (placeholder == null || placeholder.isEmpty()) {
+                results.add(placeholder);
+                continue;
+            }
+            String result = resolved.get(placeholder);
+            if (result == null) {
+                result = resolve(placeholder, projection);
+                if (result == null) {
+                    result = parseFromExportFiles(placeholder);
+                }
+                resolved.put(placeholder, result);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+    
+    /**
+     * Resolve a placeholder against the in-memory world snapshot only, without the export file fallback.
+     *
+     * @return The value, or null if the placeholder is not a world placeholder
+     */
+    public static String resolveFromSnapshot(String placeholder) {
+        if (placeholder == null || placeholder.isEmpty()) {
+            return null;
+        }
+        
+        // No refresh here: this runs on the render thread, and the manager's periodic and
+        // stale-cache scans already run on its executor
+        return resolve(placeholder, getProjection());
+    }
+    
+    /**
+     * Resolve a placeholder against a pinned snapshot, or null if it is not a world placeholder
+     */
+    private static String resolve(String placeholder, WorldProjection projection) {
+        // Results are cached per snapshot version, so a repeated placeholder is one lookup
+        long version = projection != null ? projection.getVersion() : -1;
+        String cached = ResultCache.get(placeholder, version);
+        if (cached != null) return cached;
+        if (projection == null) return null;
+        
+        // Tokenized once per placeholder string, %, { and } removed
+        ParsedKey key = ParsedKey.of(placeholder);
         
         try {
-            int worldIndex = Integer.parseInt(matcher.group(1)) - 1; // Convert to 0-based
-            String property = matcher.group(2);
-            
-            Object value = getWorldPropertyByIndex(worldIndex, property);
-            return value != null ? value.toString() : "";
+            String result = null;
+            switch (key.kind) {
+                case INDEX:
+                    result = parseWorldIndexPlaceholder(key, projection);
+                    break;
+                case NAME:
+                    result = parseWorldNamePlaceholder(key, projection);
+                    break;
+                case LIST:
+                    result = parseWorldListPlaceholder(key, projection);
+                    break;
+                case AGGREGATE:
+                    result = parseAggregatePlaceholder(key, projection);
+                    break;
+                case COUNT:
+                    result = String.valueOf(projection.size());
+                    break;
+                default:
+                    break;
+            }
+            if (result != null) {
+                ResultCache.put(placeholder, version, isTimeDependent(key), result);
+            }
+            return result;
             
-        } catch (NumberFormatException e) {
+        } catch (Exception e) {
+            LOGGER.debug("Failed to parse placeholder: {}", key.clean, e);
             return null;
         }
     }
     
+    /**
+     * The current world snapshot, or null if the WorldDataManager is not initialized (nothing is cached then)
+     */
+    private static WorldProjection getProjection() {
+        try {
+            return WorldDataManager.getInstance().getProjection();
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Whether a result also changes with the clock: the history properties (sessions_today, size_7d_ago, ...)
+     */
+    private static boolean isTimeDependent(ParsedKey key) {
+        return (key.kind == ParsedKey.Kind.INDEX || key.kind == ParsedKey.Kind.NAME) && key.worldProperty == null;
+    }
+    
+    /**
+     * Parse world placeholders by index (worldpanels_world_1_name)
+     */
+    private static String parseWorldIndexPlaceholder(ParsedKey key, WorldProjection projection) {
+        Object value = getWorldPropertyByIndex(projection, key.index, key);
+        return value != null ? value.toString() : "";
+    }
+    
     /**
      * Parse world placeholders by name (worldpanels_world_MyWorld_playtime)
      */
-    private static String parseWorldNamePlaceholder(String placeholder) {
-        Matcher matcher = WORLD_NAME_PATTERN.matcher(placeholder);
-        if (!matcher.matches()) return null;
-        
-        String worldName = matcher.group(1);
-        String property = matcher.group(2);
-        
-        Object value = getWorldPropertyByName(worldName, property);
+    private static String parseWorldNamePlaceholder(ParsedKey key, WorldProjection projection) {
+        Object value = getWorldPropertyByName(projection, key.name, key);
         return value != null ? value.toString() : "";
     }
     
     /**
      * Parse world list placeholders (worldpanels_list_names)
      */
-    private static String parseWorldListPlaceholder(String placeholder) {
-        Matcher matcher = WORLD_LIST_PATTERN.matcher(placeholder);
-        if (!matcher.matches()) return null;
-        
-        String listType = matcher.group(1);
+    private static String parseWorldListPlaceholder(ParsedKey key, WorldProjection projection) {
+        String listType = key.name;
         
         try {
-            WorldDataManager manager = WorldDataManager.getInstance();
-            List<WorldInfo> worlds = manager.getWorlds();
+            List<WorldInfo> worlds = projection.getWorlds();
             
             switch (listType.toLowerCase()) {
                 case "names":
@@ -141,25 +210,27 @@ public class WorldPlaceholderParser {
     }
     
     /**
-     * Parse world count placeholder (worldpanels_count)
+     * Parse library-wide aggregate placeholders (worldpanels_aggregate_total_size) from the snapshot's aggregates
      */
-    private static String parseWorldCountPlaceholder(String placeholder) {
-        if (WORLD_COUNT_PATTERN.matcher(placeholder).matches()) {
-            try {
-                WorldDataManager manager = WorldDataManager.getInstance();
-                return String.valueOf(manager.getWorlds().size());
-            } catch (Exception e) {
-                LOGGER.debug("Failed to get world count", e);
-                return "0";
-            }
+    private static String parseAggregatePlaceholder(ParsedKey key, WorldProjection projection) {
+        String type = key.name;
+        
+        try {
+            return projection.getAggregate(type.toLowerCase());
+        } catch (Exception e) {
+            LOGGER.debug("Failed to get world aggregate for type: {}", type, e);
+            return null;
         }
-        return null;
     }
     
     /**
-     * Try to parse placeholder from JSON files
+     * Try to parse placeholder from JSON files (parsed once per file version, see ExportFileCache)
      */
     private static String parseFromJsonFiles(String placeholder) {
+        // Convert placeholder to JSON path (worldpanels_world_1_name -> worlds.0.name)
+        String jsonPath = convertPlaceholderToJsonPath(placeholder);
+        if (jsonPath == null) return null;
+        
         try {
             // Try different JSON files
             String[] jsonFiles = {
@@ -169,14 +240,8 @@ public class WorldPlaceholderParser {
             };
             
             for (String jsonFile : jsonFiles) {
-                File file = new File(jsonFile);
-                if (file.exists()) {
-                    String content = Files.readString(file.toPath());
-                    JsonObject json = JsonParser.parseString(content).getAsJsonObject();
-                    
-                    String value = extractValueFromJson(json, placeholder);
-                    if (value != null) return value;
-                }
+                String value = ExportFileCache.lookup(new File(jsonFile), jsonPath);
+                if (value != null) return value;
             }
             
         } catch (Exception e) {
@@ -186,62 +251,6 @@ public class WorldPlaceholderParser {
         return null;
     }
     
-    /**
-     * Extract value from JSON using dot notation
-     */
-    private static String extractValueFromJson(JsonObject json, String placeholder) {
-        try {
-            // Convert placeholder to JSON path (worldpanels_world_1_name -> worlds.0.name)
-            String jsonPath = convertPlaceholderToJsonPath(placeholder);
-            if (jsonPath == null) return null;
-            
-            String[] parts = jsonPath.split("\\.");
-            JsonObject current = json;
-            
-            for (int i = 0; i < parts.length - 1; i++) {
-                String part = parts[i];
-                
-                if (part.matches("\\d+")) {
-                    // Array index
-                    int index = Integer.parseInt(part);
-                    if (current.has("worlds") && current.get("worlds").isJsonArray()) {
-                        var array = current.getAsJsonArray("worlds");
-                        if (index < array.size()) {
-                            current = array.get(index).getAsJsonObject();
-                        } else {
-                            return null;
-                        }
-                    } else if (current.has("cards") && current.get("cards").isJsonArray()) {
-                        var array = current.getAsJsonArray("cards");
-                        if (index < array.size()) {
-                            current = array.get(index).getAsJsonObject();
-                        } else {
-                            return null;
-                        }
-                    }
-                } else {
-                    // Object property
-                    if (current.has(part)) {
-                        current = current.getAsJsonObject(part);
-                    } else {
-                        return null;
-                    }
-                }
-            }
-            
-            // Get final value
-            String finalKey = parts[parts.length - 1];
-            if (current.has(finalKey)) {
-                return current.get(finalKey).getAsString();
-            }
-            
-        } catch (Exception e) {
-            LOGGER.debug("Failed to extract JSON value for: {}", placeholder, e);
-        }
-        
-        return null;
-    }
-    
     /**
      * Convert placeholder to JSON path
      */
@@ -266,137 +275,54 @@ public class WorldPlaceholderParser {
     }
     
     /**
-     * Get world property by index using existing WorldDataManager
+     * Get world property by index in the snapshot's world list (most recently played first)
      */
-    private static Object getWorldPropertyByIndex(int index, String property) {
+    private static Object getWorldPropertyByIndex(WorldProjection projection, int index, ParsedKey key) {
         try {
-            WorldDataManager manager = WorldDataManager.getInstance();
-            List<WorldInfo> worlds = manager.getWorlds();
+            List<WorldInfo> worlds = projection.getWorlds();
             
             if (index >= 0 && index < worlds.size()) {
                 WorldInfo worldInfo = worlds.get(index);
-                return getWorldProperty(worldInfo, property);
+                return getWorldProperty(worldInfo, key);
             }
         } catch (Exception e) {
-            LOGGER.debug("Failed to get world property by index: {} {}", index, property, e);
+            LOGGER.debug("Failed to get world property by index: {} {}", index, key.property, e);
         }
         return null;
     }
     
     /**
-     * Get world property by name using existing WorldDataManager
+     * Get world property by folder or display name (case-insensitive and slug forms also match)
      */
-    private static Object getWorldPropertyByName(String worldName, String property) {
+    private static Object getWorldPropertyByName(WorldProjection projection, String worldName, ParsedKey key) {
         try {
-            WorldDataManager manager = WorldDataManager.getInstance();
-            WorldInfo worldInfo = manager.getWorld(worldName);
+            WorldInfo worldInfo = projection.getNameIndex().find(worldName);
             
             if (worldInfo != null) {
-                return getWorldProperty(worldInfo, property);
+                return getWorldProperty(worldInfo, key);
             }
         } catch (Exception e) {
-            LOGGER.debug("Failed to get world property by name: {} {}", worldName, property, e);
+            LOGGER.debug("Failed to get world property by name: {} {}", worldName, key.property, e);
         }
         return null;
     }
     
     /**
-     * Extract specific property from WorldInfo using existing methods
+     * Extract specific property from WorldInfo through the property resolved at parse time
      */
-    private static Object getWorldProperty(WorldInfo worldInfo, String property) {
+    private static Object getWorldProperty(WorldInfo worldInfo, ParsedKey key) {
         if (worldInfo == null) return null;
         
-        switch (property.toLowerCase()) {
-            case "name":
-                return worldInfo.getWorldName();
-            case "display_name":
-            case "displayname":
-                return worldInfo.getWorldName();
-            case "folder":
-                return worldInfo.getFolderName();
-            case "path":
-                return worldInfo.getFolderPath();
-            case "gamemode":
-                return worldInfo.getGameModeDisplay();
-            case "gamemode_raw":
-            case "gamemoderaw":
-                return worldInfo.getGameMode();
-            case "difficulty":
-                return worldInfo.getDifficultyDisplay();
-            case "difficulty_raw":
-            case "difficultyraw":
-                return worldInfo.getDifficulty();
-            case "version":
-                return worldInfo.getVersion();
-            case "seed":
-                return String.valueOf(worldInfo.getSeed());
-            case "hardcore":
-                return worldInfo.isHardcore() ? "Yes" : "No";
-            case "cheats":
-            case "cheats_enabled":
-                return worldInfo.hasCheats() ? "Enabled" : "Disabled";
-            case "last_played":
-            case "lastplayed":
-                return worldInfo.getFormattedLastPlayed();
-            case "last_played_raw":
-            case "lastplayedraw":
-                return String.valueOf(worldInfo.getLastPlayed());
-            case "created":
-            case "creation_time":
-                return worldInfo.getFormattedCreationTime();
-            case "created_raw":
-            case "createdraw":
-                return String.valueOf(worldInfo.getCreationTime());
-            case "size":
-            case "size_formatted":
-                return worldInfo.getFormattedWorldSize();
-            case "size_bytes":
-            case "sizebytes":
-                return String.valueOf(worldInfo.getWorldSizeBytes());
-            case "in_use":
-            case "inuse":
-                return worldInfo.isInUse() ? "In Use" : "Available";
-            case "status":
-                return worldInfo.isInUse() ? "In Use" : "Available";
-            case "has_icon":
-            case "hasicon":
-                return worldInfo.hasIcon() ? "Yes" : "No";
-            case "weather":
-                return worldInfo.getWeatherDisplay();
-            case "time_of_day":
-            case "timeofday":
-                return worldInfo.getTimeOfDayDisplay();
-            case "raining":
-                return worldInfo.isRaining() ? "Yes" : "No";
-            case "thundering":
-                return worldInfo.isThundering() ? "Yes" : "No";
-            case "world_time":
-            case "worldtime":
-                return String.valueOf(worldInfo.getWorldTime());
-            case "day_time":
-            case "daytime":
-                return String.valueOf(worldInfo.getDayTime());
-            case "icon_path":
-            case "iconpath":
-                return worldInfo.getIconPath() != null ? worldInfo.getIconPath() : "";
-            default:
-                return null;
-        }
-    }
-    
-    /**
-     * Update cached world data if needed
-     */
-    private static void updateCacheIfNeeded() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastCacheUpdate > CACHE_DURATION) {
-            try {
-                WorldDataManager manager = WorldDataManager.getInstance();
-                manager.refreshWorlds();
-                lastCacheUpdate = currentTime;
-            } catch (Exception e) {
-                LOGGER.debug("Failed to update world cache", e);
+        WorldProperty property = key.worldProperty;
+        if (property != null) {
+            // The first player property used enables player data extraction in the WorldDataManager
+            if (property.needsPlayerData() && !worldInfo.isPlayerSnapshotLoaded()) {
+                WorldDataManager.getInstance().requestPlayerData();
             }
+            return property.getDisplay(worldInfo);
         }
+        
+        // Parameterized history properties (size_7d_ago, sessions_week, ...)
+        return WorldHistoryManager.getHistoryProperty(worldInfo, key.propertyLower);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package com.fancymenu.worldpanels.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A text with {placeholder} references, parsed once into literal and placeholder segments.
+ *
+ * Parsing follows the PlaceholderProcessor syntax: a placeholder is "{" followed by one or more
+ * characters other than braces and a closing "}". Everything else is literal text.
+ * Compiled templates are immutable and shared through a bounded LRU cache keyed by the source
+ * text, so the card texts rendered every frame are only parsed once.
+ */
+final class CompiledTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 512;
+
+    private static final Map<String, CompiledTemplate> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<String, CompiledTemplate>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate> eldest) {
+                return size() > MAX_CACHED_TEMPLATES;
+            }
+        });
+
+    /**
+     * Resolves one placeholder while rendering.
+     */
+    interface Resolver {
+        /**
+         * @param name The placeholder name, lowercase
+         * @param rawName The placeholder name as written
+         * @return The replacement text, never null
+         */
+        String resolve(String name, String rawName);
+    }
+
+    // literals[i] precedes placeholder i; literals has one more entry than names
+    private final String[] literals;
+    private final String[] names;
+    private final String[] rawNames;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] names, String[] rawNames) {
+        this.literals = literals;
+        this.names = names;
+        this.rawNames = rawNames;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Get the compiled form of a text, parsing it on first use.
+     */
+    static CompiledTemplate of(String text) {
+        CompiledTemplate template = CACHE.get(text);
+        if (template == null) {
+            template = compile(text);
+            CACHE.put(text, template);
+        }
+        return template;
+    }
+
+    private static CompiledTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> rawNames = new ArrayList<>();
+
+        int literalStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            if (text.charAt(i) != '{') {
+                i++;
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < text.length() && text.charAt(end) != '{' && text.charAt(end) != '}') {
+                end++;
+            }
+            if (end < text.length() && text.charAt(end) == '}' && end > i + 1) {
+                literals.add(text.substring(literalStart, i));
+                rawNames.add(text.substring(i + 1, end));
+                literalStart = end + 1;
+                i = end + 1;
+            } else {
+                i++;
+            }
+        }
+        literals.add(text.substring(literalStart));
+
+        String[] names = new String[rawNames.size()];
+        for (int n = 0; n < names.length; n++) {
+            names[n] = rawNames.get(n).toLowerCase();
+        }
+        return new CompiledTemplate(literals.toArray(new String[0]), names, rawNames.toArray(new String[0]));
+    }
+
+    boolean hasPlaceholders() {
+        return names.length > 0;
+    }
+
+    /**
+     * Lowercase placeholder names in order of appearance (may contain duplicates).
+     */
+    List<String> getPlaceholderNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Render the template, resolving every placeholder segment.
+     */
+    String render(Resolver resolver) {
+        if (names.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder result = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            result.append(literals[i]);
+            result.append(resolver.resolve(names[i], rawNames[i]));
+        }
+        result.append(literals[names.length]);
+        return result.toString();
+    }
+}
@@ -1,18 +1,24 @@
 package com.fancymenu.worldpanels.template;
 
+import com.fancymenu.worldpanels.data.WorldDimension;
 import com.fancymenu.worldpanels.data.WorldInfo;
+import com.fancymenu.worldpanels.data.WorldProperty;
+import com.fancymenu.worldpanels.data.WorldSizeBreakdown;
+import com.fancymenu.worldpanels.managers.WorldDataManager;
+import com.fancymenu.worldpanels.managers.WorldHistoryManager;
+import com.fancymenu.worldpanels.utils.FormatUtils;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 
 /**
  * Enhanced placeholder processor with comprehensive world data support including dynamic images.
@@ -22,162 +28,299 @@ import java.util.regex.Pattern;
 public class PlaceholderProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlaceholderProcessor.class);
     
-    // Placeholder pattern - matches {placeholder_name}
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{([^{}]+)\\}");
-    
-    // Date formatters for different placeholder types
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("MMM dd, yyyy");
-    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("HH:mm");
-    private static final SimpleDateFormat DATETIME_FORMAT = new SimpleDateFormat("MMM dd, yyyy HH:mm");
-    private static final SimpleDateFormat SHORT_DATE_FORMAT = new SimpleDateFormat("MM/dd/yy");
+    // Placeholder name -> evaluator, in the order of getAllAvailablePlaceholders
+    private static final Map<String, Function<WorldInfo, String>> RESOLVERS = new LinkedHashMap<>();
     
     /**
-     * Process a text string and replace all placeholders with world data
+     * Process a text string and replace all placeholders with world data.
+     * Only the placeholders used in the text are evaluated.
      */
     public static String processPlaceholders(String text, WorldInfo world) {
         if (text == null || text.isEmpty()) {
             return text;
         }
         
+        CompiledTemplate template = CompiledTemplate.of(text);
+        if (!template.hasPlaceholders()) {
+            return text;
+        }
+        
         if (world == null) {
             // Show placeholder names in brackets when no world data available
-            return text.replaceAll("\\{([^{}]+)\\}", "[$1]");
+            return template.render((name, rawName) -> "[" + rawName + "]");
         }
         
-        // Build comprehensive placeholder value map
-        Map<String, String> placeholders = buildComprehensivePlaceholderMap(world);
+        return template.render((name, rawName) -> resolve(world, name, rawName));
+    }
+    
+    /**
+     * Process several text strings for the same world, evaluating each used placeholder only once
+     */
+    public static String[] processPlaceholders(String[] texts, WorldInfo world) {
+        Batch batch = batch(world);
+        String[] results = new String[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            results[i] = batch.process(texts[i]);
+        }
+        return results;
+    }
+    
+    /**
+     * Process a list of text strings for the same world, evaluating each used placeholder only once
+     */
+    public static List<String> processPlaceholders(List<String> texts, WorldInfo world) {
+        Batch batch = batch(world);
+        List<String> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            results.add(batch.process(text));
+        }
+        return results;
+    }
+    
+    /**
+     * Start a batch for one world, e.g. all texts of one world card.
+     */
+    public static Batch batch(WorldInfo world) {
+        return new Batch(world);
+    }
+    
+    /**
+     * Placeholder resolution for several texts of one world.
+     * All texts see the same world state, and every placeholder used by any of them
+     * ({world_name}, {player_x}, {size_7d_ago}, ...) is evaluated once per batch.
+     * A batch is meant for one frame or one export pass and is not thread-safe.
+     */
+    public static final class Batch {
+        private final WorldInfo world;
+        private final Map<String, String> resolved = new HashMap<>();
         
-        // Replace all placeholders
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(text);
-        StringBuffer result = new StringBuffer();
+        private Batch(WorldInfo world) {
+            this.world = world;
+        }
         
-        while (matcher.find()) {
-            String placeholderName = matcher.group(1).toLowerCase();
-            String replacement = placeholders.getOrDefault(placeholderName, "{" + matcher.group(1) + "}");
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        public WorldInfo getWorld() {
+            return world;
         }
-        matcher.appendTail(result);
         
-        return result.toString();
+        /**
+         * Process a text string with the values of this batch.
+         */
+        public String process(String text) {
+            if (text == null || text.isEmpty() || world == null) {
+                return processPlaceholders(text, world);
+            }
+            
+            CompiledTemplate template = CompiledTemplate.of(text);
+            if (!template.hasPlaceholders()) {
+                return text;
+            }
+            return template.render((name, rawName) -> {
+                String value = resolved.get(name);
+                if (value == null) {
+                    value = resolve(world, name, rawName);
+                    resolved.put(name, value);
+                }
+                return value;
+            });
+        }
     }
     
     /**
-     * Build comprehensive map of ALL available placeholders
+     * Evaluate a single placeholder for a world
      */
-    private static Map<String, String> buildComprehensivePlaceholderMap(WorldInfo world) {
-        Map<String, String> placeholders = new HashMap<>();
-        
+    private static String resolve(WorldInfo world, String name, String rawName) {
         try {
-            // ======================================
-            // BASIC WORLD INFORMATION
-            // ======================================
-            placeholders.put("world_name", safeString(world.getWorldName(), "Unnamed World"));
-            placeholders.put("folder_name", safeString(world.getFolderName(), "unknown"));
-            placeholders.put("folder_path", safeString(world.getFolderPath(), "unknown"));
-            
-            // ======================================
-            // GAME SETTINGS
-            // ======================================
-            placeholders.put("game_mode", safeString(world.getGameMode(), "Unknown"));
-            placeholders.put("game_mode_display", safeString(world.getGameModeDisplay(), "Unknown"));
-            placeholders.put("difficulty", safeString(world.getDifficulty(), "Unknown"));
-            placeholders.put("difficulty_display", safeString(world.getDifficultyDisplay(), "Unknown"));
-            placeholders.put("version", safeString(world.getVersion(), "Unknown"));
-            placeholders.put("hardcore", world.isHardcore() ? "Yes" : "No");
-            placeholders.put("hardcore_symbol", world.isHardcore() ? "💀" : "❤");
-            placeholders.put("cheats", world.hasCheats() ? "Enabled" : "Disabled");
-            placeholders.put("cheats_symbol", world.hasCheats() ? "⚡" : "🚫");
-            
-            // ======================================
-            // WORLD SEED
-            // ======================================
-            placeholders.put("seed", String.valueOf(world.getSeed()));
-            placeholders.put("seed_short", formatSeedShort(world.getSeed()));
-            
-            // ======================================
-            // TIMESTAMPS - LAST PLAYED
-            // ======================================
-            placeholders.put("last_played", formatLastPlayedRelative(world.getLastPlayed()));
-            placeholders.put("last_played_date", formatDate(world.getLastPlayed()));
-            placeholders.put("last_played_time", formatTime(world.getLastPlayed()));
-            placeholders.put("last_played_datetime", formatDateTime(world.getLastPlayed()));
-            placeholders.put("last_played_short", formatDateShort(world.getLastPlayed()));
-            placeholders.put("last_played_formatted", world.getFormattedLastPlayed());
-            
-            // ======================================
-            // TIMESTAMPS - CREATION TIME
-            // ======================================
-            placeholders.put("creation_time", formatDate(world.getCreationTime()));
-            placeholders.put("creation_date", formatDate(world.getCreationTime()));
-            placeholders.put("creation_datetime", formatDateTime(world.getCreationTime()));
-            placeholders.put("creation_formatted", world.getFormattedCreationTime());
-            
-            // ======================================
-            // TIMESTAMPS - FOLDER MODIFIED
-            // ======================================
-            placeholders.put("folder_modified", formatDate(world.getFolderModified()));
-            placeholders.put("folder_modified_datetime", formatDateTime(world.getFolderModified()));
-            placeholders.put("folder_modified_relative", formatRelativeTime(world.getFolderModified()));
-            
-            // ======================================
-            // WORLD STATUS
-            // ======================================
-            placeholders.put("in_use", world.isInUse() ? "Yes" : "No");
-            placeholders.put("in_use_symbol", world.isInUse() ? "●" : "○");
-            placeholders.put("has_icon", world.hasIcon() ? "Yes" : "No");
-            placeholders.put("icon_symbol", world.hasIcon() ? "🖼" : "📷");
-            
-            // ======================================
-            // WORLD SIZE
-            // ======================================
-            placeholders.put("world_size", String.valueOf(world.getWorldSizeBytes()));
-            placeholders.put("world_size_formatted", world.getFormattedWorldSize());
-            placeholders.put("world_size_mb", formatSizeInMB(world.getWorldSizeBytes()));
-            placeholders.put("world_size_gb", formatSizeInGB(world.getWorldSizeBytes()));
-            
-            // ======================================
-            // WORLD TIME & WEATHER
-            // ======================================
-            placeholders.put("world_time", String.valueOf(world.getWorldTime()));
-            placeholders.put("day_time", String.valueOf(world.getDayTime()));
-            placeholders.put("time_of_day", world.getTimeOfDayDisplay());
-            placeholders.put("weather", world.getWeatherDisplay());
-            placeholders.put("weather_symbol", getWeatherSymbol(world));
-            placeholders.put("raining", world.isRaining() ? "Yes" : "No");
-            placeholders.put("raining_symbol", world.isRaining() ? "🌧" : "☀");
-            placeholders.put("thundering", world.isThundering() ? "Yes" : "No");
-            placeholders.put("thundering_symbol", world.isThundering() ? "⛈" : "🌤");
-            
-            // ======================================
-            // FILE SYSTEM & IMAGES
-            // ======================================
-            placeholders.put("icon_path", safeString(world.getIconPath(), "No Icon"));
-            placeholders.put("world_screenshot", getWorldScreenshotPath(world));
-            placeholders.put("world_icon", getWorldIconPath(world));
-            placeholders.put("world_image", getSmartWorldImagePath(world));
-            placeholders.put("game_mode_icon", getGameModeIconPath(world));
-            placeholders.put("status_icon", getStatusIconPath(world));
-            
-            // ======================================
-            // COMPUTED VALUES
-            // ======================================
-            placeholders.put("world_age", calculateWorldAge(world.getCreationTime()));
-            placeholders.put("days_since_played", calculateDaysSincePlayed(world.getLastPlayed()));
-            placeholders.put("world_type", determineWorldType(world));
-            placeholders.put("play_status", determinePlayStatus(world));
+            if (name.startsWith("player_") && !world.isPlayerSnapshotLoaded()) {
+                requestPlayerData();
+            }
             
-            // ======================================
-            // VISUAL SYMBOLS & INDICATORS
-            // ======================================
-            placeholders.put("status_dot", world.isInUse() ? "🟢" : "🔴");
-            placeholders.put("mode_symbol", getGameModeSymbol(world.getGameMode()));
-            placeholders.put("difficulty_symbol", getDifficultySymbol(world.getDifficulty()));
+            Function<WorldInfo, String> resolver = RESOLVERS.get(name);
+            String value = resolver != null ? resolver.apply(world)
+                // History trends with other day counts (size_90d_ago, sessions_14d, ...) are parsed on demand
+                : WorldHistoryManager.getHistoryProperty(world, name);
+            if (value != null) {
+                return value;
+            }
             
         } catch (Exception e) {
-            LOGGER.warn("Error building comprehensive placeholder map for world: {}", world.getWorldName(), e);
+            LOGGER.warn("Error resolving placeholder {} for world: {}", name, world.getWorldName(), e);
+        }
+        return "{" + rawName + "}";
+    }
+    
+    private static void register(String name, Function<WorldInfo, String> resolver) {
+        RESOLVERS.put(name, resolver);
+    }
+    
+    /**
+     * Register a placeholder with the same text as a world property.
+     */
+    private static void register(String name, WorldProperty property) {
+        RESOLVERS.put(name, property::getDisplay);
+    }
+    
+    /**
+     * Player placeholders are opt-in: the first use enables player snapshot extraction.
+     */
+    private static void requestPlayerData() {
+        try {
+            WorldDataManager.getInstance().requestPlayerData();
+        } catch (IllegalStateException e) {
+            // Manager not initialized yet, the next use will retry
+        }
+    }
+    
+    /**
+     * Register all available placeholders, in the order of getAllAvailablePlaceholders
+     */
+    static {
+        // ======================================
+        // BASIC WORLD INFORMATION
+        // ======================================
+        register("world_name", world -> safeString(world.getWorldName(), "Unnamed World"));
+        register("folder_name", world -> safeString(world.getFolderName(), "unknown"));
+        register("folder_path", world -> safeString(world.getFolderPath(), "unknown"));
+        
+        // ======================================
+        // GAME SETTINGS
+        // ======================================
+        register("game_mode", world -> safeString(world.getGameMode(), "Unknown"));
+        register("game_mode_display", world -> safeString(world.getGameModeDisplay(), "Unknown"));
+        register("difficulty", world -> safeString(world.getDifficulty(), "Unknown"));
+        register("difficulty_display", world -> safeString(world.getDifficultyDisplay(), "Unknown"));
+        register("version", world -> safeString(world.getVersion(), "Unknown"));
+        register("hardcore", WorldProperty.HARDCORE);
+        register("hardcore_symbol", world -> world.isHardcore() ? "💀" : "❤");
+        register("cheats", WorldProperty.CHEATS);
+        register("cheats_symbol", world -> world.hasCheats() ? "⚡" : "🚫");
+        
+        // ======================================
+        // WORLD SEED
+        // ======================================
+        register("seed", WorldProperty.SEED);
+        register("seed_short", world -> formatSeedShort(world.getSeed()));
+        
+        // ======================================
+        // TIMESTAMPS - LAST PLAYED
+        // ======================================
+        register("last_played", world -> formatLastPlayedRelative(world.getLastPlayed()));
+        register("last_played_date", world -> formatDate(world.getLastPlayed()));
+        register("last_played_time", world -> formatTime(world.getLastPlayed()));
+        register("last_played_datetime", world -> formatDateTime(world.getLastPlayed()));
+        register("last_played_short", world -> formatDateShort(world.getLastPlayed()));
+        register("last_played_formatted", world -> world.getFormattedLastPlayed());
+        
+        // ======================================
+        // TIMESTAMPS - CREATION TIME
+        // ======================================
+        register("creation_time", world -> formatDate(world.getCreationTime()));
+        register("creation_date", world -> formatDate(world.getCreationTime()));
+        register("creation_datetime", world -> formatDateTime(world.getCreationTime()));
+        register("creation_formatted", world -> world.getFormattedCreationTime());
+        
+        // ======================================
+        // TIMESTAMPS - FOLDER MODIFIED
+        // ======================================
+        register("folder_modified", world -> formatDate(world.getFolderModified()));
+        register("folder_modified_datetime", world -> formatDateTime(world.getFolderModified()));
+        register("folder_modified_relative", world -> formatRelativeTime(world.getFolderModified()));
+        
+        // ======================================
+        // WORLD STATUS
+        // ======================================
+        register("in_use", world -> world.isInUse() ? "Yes" : "No");
+        register("status", WorldProperty.STATUS);
+        register("in_use_symbol", world -> world.isInUse() ? "●" : "○");
+        register("has_icon", WorldProperty.HAS_ICON);
+        register("icon_symbol", world -> world.hasIcon() ? "🖼" : "📷");
+        
+        // ======================================
+        // WORLD SIZE
+        // ======================================
+        register("world_size", WorldProperty.SIZE_BYTES);
+        register("world_size_formatted", WorldProperty.SIZE);
+        register("world_size_mb", world -> formatSizeInMB(world.getWorldSizeBytes()));
+        register("world_size_gb", world -> formatSizeInGB(world.getWorldSizeBytes()));
+        
+        // Size breakdown (world_size_nether, world_size_entities, ...)
+        for (WorldDimension dimension : WorldDimension.values()) {
+            register("world_size_" + dimension.getId(), WorldProperty.byName("size_" + dimension.getId()));
+        }
+        for (WorldSizeBreakdown.Category category : WorldSizeBreakdown.Category.values()) {
+            register("world_size_" + category.getId(), WorldProperty.byName("size_" + category.getId()));
         }
         
-        return placeholders;
+        // ======================================
+        // EXPLORED AREA (REGION HEADERS)
+        // ======================================
+        register("explored_chunks", WorldProperty.EXPLORED_CHUNKS);
+        register("explored_chunks_overworld", WorldProperty.EXPLORED_CHUNKS_OVERWORLD);
+        register("explored_chunks_nether", WorldProperty.EXPLORED_CHUNKS_NETHER);
+        register("explored_chunks_end", WorldProperty.EXPLORED_CHUNKS_END);
+        register("explored_area", WorldProperty.EXPLORED_AREA);
+        register("explored_area_overworld", world -> formatAreaKm2(world.getRegionStats().getExploredAreaKm2(WorldDimension.OVERWORLD)));
+        register("explored_area_nether", world -> formatAreaKm2(world.getRegionStats().getExploredAreaKm2(WorldDimension.NETHER)));
+        register("explored_area_end", world -> formatAreaKm2(world.getRegionStats().getExploredAreaKm2(WorldDimension.END)));
+        
+        // ======================================
+        // HISTORY (any number of days works, e.g. size_90d_ago or sessions_14d)
+        // ======================================
+        for (String name : new String[] {"size_7d_ago", "size_30d_ago", "size_growth_7d", "size_growth_30d",
+                "sessions_today", "sessions_week", "sessions_month"}) {
+            register(name, world -> safeString(WorldHistoryManager.getHistoryProperty(world, name), "Unknown"));
+        }
+        
+        // ======================================
+        // PLAYER SNAPSHOT (OPT-IN)
+        // ======================================
+        register("player_dimension", WorldProperty.PLAYER_DIMENSION);
+        register("player_x", WorldProperty.PLAYER_X);
+        register("player_y", WorldProperty.PLAYER_Y);
+        register("player_z", WorldProperty.PLAYER_Z);
+        register("player_position", WorldProperty.PLAYER_POSITION);
+        register("player_health", WorldProperty.PLAYER_HEALTH);
+        register("player_food", WorldProperty.PLAYER_FOOD);
+        register("player_xp_level", WorldProperty.PLAYER_XP_LEVEL);
+        register("player_selected_item", WorldProperty.PLAYER_SELECTED_ITEM);
+        register("player_selected_item_count", WorldProperty.PLAYER_SELECTED_ITEM_COUNT);
+        
+        // ======================================
+        // WORLD TIME & WEATHER
+        // ======================================
+        register("world_time", WorldProperty.WORLD_TIME);
+        register("day_time", WorldProperty.DAY_TIME);
+        register("time_of_day", WorldProperty.TIME_OF_DAY);
+        register("weather", WorldProperty.WEATHER);
+        register("weather_symbol", world -> getWeatherSymbol(world));
+        register("raining", WorldProperty.RAINING);
+        register("raining_symbol", world -> world.isRaining() ? "🌧" : "☀");
+        register("thundering", WorldProperty.THUNDERING);
+        register("thundering_symbol", world -> world.isThundering() ? "⛈" : "🌤");
+        
+        // ======================================
+        // FILE SYSTEM & IMAGES
+        // ======================================
+        register("icon_path", world -> safeString(world.getIconPath(), "No Icon"));
+        register("world_screenshot", world -> getWorldScreenshotPath(world));
+        register("world_icon", world -> getWorldIconPath(world));
+        register("world_image", world -> getSmartWorldImagePath(world));
+        register("game_mode_icon", world -> getGameModeIconPath(world));
+        register("status_icon", world -> getStatusIconPath(world));
+        
+        // ======================================
+        // COMPUTED VALUES
+        // ======================================
+        register("world_age", world -> calculateWorldAge(world.getCreationTime()));
+        register("days_since_played", world -> calculateDaysSincePlayed(world.getLastPlayed()));
+        register("world_type", world -> determineWorldType(world));
+        register("play_status", world -> determinePlayStatus(world));
+        
+        // ======================================
+        // VISUAL SYMBOLS & INDICATORS
+        // ======================================
+        register("status_dot", world -> world.isInUse() ? "🟢" : "🔴");
+        register("mode_symbol", world -> getGameModeSymbol(world.getGameMode()));
+        register("difficulty_symbol", world -> getDifficultySymbol(world.getDifficulty()));
     }
     
     // ======================================
@@ -291,7 +434,7 @@ public class PlaceholderProcessor {
             } else if (world.isHardcore()) {
                 iconName = "world_hardcore.png";
             } else {
-                long daysSince = (System.currentTimeMillis() - world.getLastPlayed()) / (24 * 60 * 60 * 1000);
+                long daysSince = (System.currentTimeMillis() - world.getLastPlayed()) / RelativeTimeCache.DAY_MS;
                 if (daysSince < 1) {
                     iconName = "world_recent.png";
                 } else if (daysSince < 7) {
@@ -347,59 +490,29 @@ public class PlaceholderProcessor {
     }
     
     private static String formatDate(long timestamp) {
-        return timestamp > 0 ? DATE_FORMAT.format(new Date(timestamp)) : "Never";
+        return timestamp > 0 ? FormatUtils.formatDate(timestamp, FormatUtils.DatePattern.DATE) : "Never";
     }
     
     private static String formatTime(long timestamp) {
-        return timestamp > 0 ? TIME_FORMAT.format(new Date(timestamp)) : "Never";
+        return timestamp > 0 ? FormatUtils.formatDate(timestamp, FormatUtils.DatePattern.TIME) : "Never";
     }
     
     private static String formatDateTime(long timestamp) {
-        return timestamp > 0 ? DATETIME_FORMAT.format(new Date(timestamp)) : "Never";
+        return timestamp > 0 ? FormatUtils.formatDate(timestamp, FormatUtils.DatePattern.DATETIME) : "Never";
     }
     
     private static String formatDateShort(long timestamp) {
-        return timestamp > 0 ? SHORT_DATE_FORMAT.format(new Date(timestamp)) : "Never";
+        return timestamp > 0 ? FormatUtils.formatDate(timestamp, FormatUtils.DatePattern.SHORT_DATE) : "Never";
     }
     
     private static String formatLastPlayedRelative(long lastPlayed) {
         if (lastPlayed <= 0) return "Never";
-        
-        try {
-            long now = System.currentTimeMillis();
-            long timeDiff = now - lastPlayed;
-            
-            if (timeDiff < 60 * 1000) return "Just now";
-            if (timeDiff < 60 * 60 * 1000) {
-                long minutes = timeDiff / (60 * 1000);
-                return minutes + "m ago";
-            }
-            if (timeDiff < 24 * 60 * 60 * 1000) {
-                long hours = timeDiff / (60 * 60 * 1000);
-                return hours + "h ago";
-            }
-            if (timeDiff < 7 * 24 * 60 * 60 * 1000) {
-                long days = timeDiff / (24 * 60 * 60 * 1000);
-                return days + "d ago";
-            }
-            return DATE_FORMAT.format(new Date(lastPlayed));
-        } catch (Exception e) {
-            return "Unknown";
-        }
+        return RelativeTimeCache.get(RelativeTimeCache.Kind.LAST_PLAYED, lastPlayed);
     }
     
     private static String formatRelativeTime(long timestamp) {
         if (timestamp <= 0) return "Never";
-        
-        long now = System.currentTimeMillis();
-        long diff = now - timestamp;
-        
-        if (diff < 60 * 1000) return "Just now";
-        if (diff < 60 * 60 * 1000) return (diff / (60 * 1000)) + "m ago";
-        if (diff < 24 * 60 * 60 * 1000) return (diff / (60 * 60 * 1000)) + "h ago";
-        if (diff < 30 * 24 * 60 * 60 * 1000) return (diff / (24 * 60 * 60 * 1000)) + "d ago";
-        
-        return DATE_FORMAT.format(new Date(timestamp));
+        return RelativeTimeCache.get(RelativeTimeCache.Kind.RELATIVE, timestamp);
     }
     
     private static String formatSeedShort(long seed) {
@@ -409,38 +522,26 @@ public class PlaceholderProcessor {
     
     private static String formatSizeInMB(long bytes) {
         if (bytes <= 0) return "0 MB";
-        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+        return FormatUtils.formatDecimal(bytes / (1024.0 * 1024.0), 1) + " MB";
     }
     
     private static String formatSizeInGB(long bytes) {
         if (bytes <= 0) return "0 GB";
-        return String.format("%.2f GB", bytes / (1024.0 * 1024.0 * 1024.0));
+        return FormatUtils.formatDecimal(bytes / (1024.0 * 1024.0 * 1024.0), 2) + " GB";
+    }
+    
+    private static String formatAreaKm2(double km2) {
+        return FormatUtils.formatArea(km2);
     }
     
     private static String calculateWorldAge(long creationTime) {
         if (creationTime <= 0) return "Unknown";
-        
-        long now = System.currentTimeMillis();
-        long age = now - creationTime;
-        long days = age / (24 * 60 * 60 * 1000);
-        
-        if (days == 0) return "Today";
-        if (days == 1) return "1 day";
-        if (days < 30) return days + " days";
-        if (days < 365) return (days / 30) + " months";
-        return (days / 365) + " years";
+        return RelativeTimeCache.get(RelativeTimeCache.Kind.AGE, creationTime);
     }
     
     private static String calculateDaysSincePlayed(long lastPlayed) {
         if (lastPlayed <= 0) return "Never";
-        
-        long now = System.currentTimeMillis();
-        long diff = now - lastPlayed;
-        long days = diff / (24 * 60 * 60 * 1000);
-        
-        if (days == 0) return "Today";
-        if (days == 1) return "Yesterday";
-        return days + " days ago";
+        return RelativeTimeCache.get(RelativeTimeCache.Kind.DAYS_SINCE, lastPlayed);
     }
     
     private static String determineWorldType(WorldInfo world) {
@@ -454,14 +555,7 @@ public class PlaceholderProcessor {
         long lastPlayed = world.getLastPlayed();
         if (lastPlayed <= 0) return "Never Played";
         
-        long now = System.currentTimeMillis();
-        long diff = now - lastPlayed;
-        
-        if (diff < 24 * 60 * 60 * 1000) return "Recently Played";
-        if (diff < 7 * 24 * 60 * 60 * 1000) return "Played This Week";
-        if (diff < 30 * 24 * 60 * 60 * 1000) return "Played This Month";
-        
-        return "Not Recently Played";
+        return RelativeTimeCache.get(RelativeTimeCache.Kind.PLAY_STATUS, lastPlayed);
     }
     
     private static String getWeatherSymbol(WorldInfo world) {
@@ -496,11 +590,19 @@ public class PlaceholderProcessor {
     // UTILITY METHODS
     // ======================================
     
+    /**
+     * Drop relative-time texts ("5m ago", "3 days", ...) whose next minute, hour or day
+     * boundary has passed. Called once per client tick.
+     */
+    public static void onClientTick() {
+        RelativeTimeCache.sweep();
+    }
+    
     /**
      * Check if a text contains any placeholders
      */
     public static boolean containsPlaceholders(String text) {
-        return text != null && !text.isEmpty() && PLACEHOLDER_PATTERN.matcher(text).find();
+        return text != null && !text.isEmpty() && CompiledTemplate.of(text).hasPlaceholders();
     }
     
     /**
@@ -511,9 +613,7 @@ public class PlaceholderProcessor {
         
         if (text == null || text.isEmpty()) return placeholders;
         
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(text);
-        while (matcher.find()) {
-            String placeholder = matcher.group(1).toLowerCase();
+        for (String placeholder : CompiledTemplate.of(text).getPlaceholderNames()) {
             if (!placeholders.contains(placeholder)) {
                 placeholders.add(placeholder);
             }
@@ -526,89 +626,6 @@ public class PlaceholderProcessor {
      * Get ALL available placeholder names (comprehensive list)
      */
     public static java.util.List<String> getAllAvailablePlaceholders() {
-        java.util.List<String> placeholders = new java.util.ArrayList<>();
-        
-        // Basic world info
-        placeholders.add("world_name");
-        placeholders.add("folder_name");
-        placeholders.add("folder_path");
-        
-        // Game settings
-        placeholders.add("game_mode");
-        placeholders.add("game_mode_display");
-        placeholders.add("difficulty");
-        placeholders.add("difficulty_display");
-        placeholders.add("version");
-        placeholders.add("hardcore");
-        placeholders.add("hardcore_symbol");
-        placeholders.add("cheats");
-        placeholders.add("cheats_symbol");
-        
-        // Seed
-        placeholders.add("seed");
-        placeholders.add("seed_short");
-        
-        // Last played timestamps
-        placeholders.add("last_played");
-        placeholders.add("last_played_date");
-        placeholders.add("last_played_time");
-        placeholders.add("last_played_datetime");
-        placeholders.add("last_played_short");
-        placeholders.add("last_played_formatted");
-        
-        // Creation timestamps
-        placeholders.add("creation_time");
-        placeholders.add("creation_date");
-        placeholders.add("creation_datetime");
-        placeholders.add("creation_formatted");
-        
-        // Folder modified
-        placeholders.add("folder_modified");
-        placeholders.add("folder_modified_datetime");
-        placeholders.add("folder_modified_relative");
-        
-        // Status
-        placeholders.add("in_use");
-        placeholders.add("in_use_symbol");
-        placeholders.add("has_icon");
-        placeholders.add("icon_symbol");
-        
-        // World size
-        placeholders.add("world_size");
-        placeholders.add("world_size_formatted");
-        placeholders.add("world_size_mb");
-        placeholders.add("world_size_gb");
-        
-        // Time & weather
-        placeholders.add("world_time");
-        placeholders.add("day_time");
-        placeholders.add("time_of_day");
-        placeholders.add("weather");
-        placeholders.add("weather_symbol");
-        placeholders.add("raining");
-        placeholders.add("raining_symbol");
-        placeholders.add("thundering");
-        placeholders.add("thundering_symbol");
-        
-        // File system & Images
-        placeholders.add("icon_path");
-        placeholders.add("world_screenshot");
-        placeholders.add("world_icon");
-        placeholders.add("world_image");
-        placeholders.add("game_mode_icon");
-        placeholders.add("status_icon");
-        
-        // Computed values
-        placeholders.add("world_age");
-        placeholders.add("days_since_played");
-        placeholders.add("world_type");
-        placeholders.add("play_status");
-        
-        // Visual symbols
-        placeholders.add("status_dot");
-        placeholders.add("mode_symbol");
-        placeholders.add("difficulty_symbol");
-        
-        return placeholders;
+        return new java.util.ArrayList<>(RESOLVERS.keySet());
     }
 }
\ No newline at end of file
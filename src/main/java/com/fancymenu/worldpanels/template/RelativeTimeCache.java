@@ -0,0 +1,184 @@
+package com.fancymenu.worldpanels.template;
+
+import com.fancymenu.worldpanels.utils.FormatUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Cache of relative-time texts ("5m ago", "3 days", "Played This Week").
+ *
+ * A relative text only changes when a minute, hour or day boundary (relative to its timestamp)
+ * passes, so each cached text carries the instant of its next change. Reads return the cached
+ * text until then; expired entries are dropped from a min-heap ordered by that instant,
+ * swept once per client tick. Entries whose text never changes again (old dates) stay cached.
+ */
+final class RelativeTimeCache {
+
+    static final long MINUTE_MS = 60L * 1000;
+    static final long HOUR_MS = 60 * MINUTE_MS;
+    static final long DAY_MS = 24 * HOUR_MS;
+
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final int MAX_ENTRIES = 4096;
+
+    /**
+     * The relative-time placeholders, each computing its text and next change.
+     */
+    enum Kind {
+        /** "Just now", "5m ago", "3h ago", "2d ago", then the date (last_played). */
+        LAST_PLAYED {
+            @Override
+            Entry compute(long timestamp, long now) {
+                return agoText(this, timestamp, now, 7 * DAY_MS);
+            }
+        },
+        /** Like LAST_PLAYED with days up to 30 (folder_modified_relative). */
+        RELATIVE {
+            @Override
+            Entry compute(long timestamp, long now) {
+                return agoText(this, timestamp, now, 30 * DAY_MS);
+            }
+        },
+        /** "Today", "Yesterday", "5 days ago" (days_since_played). */
+        DAYS_SINCE {
+            @Override
+            Entry compute(long timestamp, long now) {
+                long days = (now - timestamp) / DAY_MS;
+                String text = days == 0 ? "Today" : days == 1 ? "Yesterday" : days + " days ago";
+                return new Entry(this, timestamp, text, nextBoundary(timestamp, now, DAY_MS));
+            }
+        },
+        /** "Today", "1 day", "12 days", "3 months", "2 years" (world_age). */
+        AGE {
+            @Override
+            Entry compute(long timestamp, long now) {
+                long days = (now - timestamp) / DAY_MS;
+                String text;
+                if (days == 0) text = "Today";
+                else if (days == 1) text = "1 day";
+                else if (days < 30) text = days + " days";
+                else if (days < 365) text = (days / 30) + " months";
+                else text = (days / 365) + " years";
+                return new Entry(this, timestamp, text, nextBoundary(timestamp, now, DAY_MS));
+            }
+        },
+        /** "Recently Played", "Played This Week", ... (play_status, without the in-use state). */
+        PLAY_STATUS {
+            @Override
+            Entry compute(long timestamp, long now) {
+                long diff = now - timestamp;
+                if (diff < DAY_MS) return new Entry(this, timestamp, "Recently Played", timestamp + DAY_MS);
+                if (diff < 7 * DAY_MS) return new Entry(this, timestamp, "Played This Week", timestamp + 7 * DAY_MS);
+                if (diff < 30 * DAY_MS) return new Entry(this, timestamp, "Played This Month", timestamp + 30 * DAY_MS);
+                return new Entry(this, timestamp, "Not Recently Played", NEVER);
+            }
+        };
+
+        abstract Entry compute(long timestamp, long now);
+    }
+
+    /**
+     * A cached text and the instant it changes.
+     */
+    static final class Entry {
+        final Kind kind;
+        final long timestamp;
+        final String text;
+        final long nextChange;
+
+        Entry(Kind kind, long timestamp, String text, long nextChange) {
+            this.kind = kind;
+            this.timestamp = timestamp;
+            this.text = text;
+            this.nextChange = nextChange;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final Map<Long, Entry>[] ENTRIES = new Map[Kind.values().length];
+    private static final PriorityQueue<Entry> EXPIRY = new PriorityQueue<>(
+        (a, b) -> Long.compare(a.nextChange, b.nextChange));
+
+    static {
+        for (Kind kind : Kind.values()) {
+            ENTRIES[kind.ordinal()] = new HashMap<>();
+        }
+    }
+
+    private RelativeTimeCache() {}
+
+    /**
+     * Get the relative text of a timestamp, computing it only if its cached text expired.
+     */
+    static synchronized String get(Kind kind, long timestamp) {
+        long now = System.currentTimeMillis();
+        Map<Long, Entry> entries = ENTRIES[kind.ordinal()];
+        Entry entry = entries.get(timestamp);
+        if (entry != null && now < entry.nextChange) {
+            return entry.text;
+        }
+
+        if (EXPIRY.size() >= MAX_ENTRIES) {
+            clear();
+        }
+        entry = kind.compute(timestamp, now);
+        entries.put(timestamp, entry);
+        if (entry.nextChange != NEVER) {
+            EXPIRY.add(entry);
+        }
+        return entry.text;
+    }
+
+    /**
+     * Drop the entries whose boundary has passed. Called once per client tick; usually only
+     * peeks at the head of the heap.
+     */
+    static synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        Entry head;
+        while ((head = EXPIRY.peek()) != null && head.nextChange <= now) {
+            EXPIRY.poll();
+            Map<Long, Entry> entries = ENTRIES[head.kind.ordinal()];
+            if (entries.get(head.timestamp) == head) {
+                entries.remove(head.timestamp);
+            }
+        }
+    }
+
+    static synchronized void clear() {
+        for (Map<Long, Entry> entries : ENTRIES) {
+            entries.clear();
+        }
+        EXPIRY.clear();
+    }
+
+    /**
+     * "Just now", "5m ago", "3h ago", "2d ago" up to dayLimit, then the date.
+     */
+    private static Entry agoText(Kind kind, long timestamp, long now, long dayLimit) {
+        long diff = now - timestamp;
+
+        if (diff < MINUTE_MS) {
+            return new Entry(kind, timestamp, "Just now", timestamp + MINUTE_MS);
+        }
+        if (diff < HOUR_MS) {
+            return new Entry(kind, timestamp, (diff / MINUTE_MS) + "m ago", nextBoundary(timestamp, now, MINUTE_MS));
+        }
+        if (diff < DAY_MS) {
+            return new Entry(kind, timestamp, (diff / HOUR_MS) + "h ago", nextBoundary(timestamp, now, HOUR_MS));
+        }
+        if (diff < dayLimit) {
+            return new Entry(kind, timestamp, (diff / DAY_MS) + "d ago", nextBoundary(timestamp, now, DAY_MS));
+        }
+        return new Entry(kind, timestamp, FormatUtils.formatDate(timestamp, FormatUtils.DatePattern.DATE), NEVER);
+    }
+
+    /**
+     * The next instant after now at which (now - timestamp) / unit changes.
+     */
+    private static long nextBoundary(long timestamp, long now, long unit) {
+        return timestamp + (Math.floorDiv(now - timestamp, unit) + 1) * unit;
+    }
+}
@@ -0,0 +1,135 @@
+package com.fancymenu.worldpanels.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for crash-safe file publishing.
+ *
+ * Exported files are read by FancyMenu while we write them, so they are never modified
+ * in place: content goes to a temp file next to the target, is forced to disk, and is then
+ * moved over the target with an atomic rename. Readers see either the old or the new file,
+ * never a missing or half-written one.
+ */
+public class FileUtils {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileUtils.class);
+
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+    private static final int MOVE_ATTEMPTS = 4;
+    private static final long MOVE_RETRY_DELAY_MS = 10;
+
+    /**
+     * Writes the content of a file through a buffered writer.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(Writer writer) throws IOException;
+    }
+
+    /**
+     * Atomically replace a file with new UTF-8 content.
+     *
+     * Fallback strategy: if the file system has no atomic rename, a plain replacing move is used.
+     * If the target is briefly locked (Windows readers), the move is retried with a short backoff
+     * before falling back to a plain replacing move.
+     *
+     * @param target The file to publish
+     * @param content Writes the new content (flushed by this method, do not close it)
+     */
+    public static void writeAtomically(Path target, ContentWriter content) throws IOException {
+        publish(target, channel -> {
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            content.write(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Atomically replace a file with already serialized content.
+     *
+     * @param target The file to publish
+     * @param content The new file content
+     */
+    public static void writeAtomically(Path target, byte[] content) throws IOException {
+        publish(target, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+    }
+
+    private interface ChannelContent {
+        void write(FileChannel channel) throws IOException;
+    }
+
+    /**
+     * Write the temp file, force it to disk and move it over the target.
+     */
+    private static void publish(Path target, ChannelContent content) throws IOException {
+        Path tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                content.write(channel);
+                // Make sure the data is on disk before the rename makes it visible
+                channel.force(true);
+            }
+
+            moveIntoPlace(tempFile, target);
+
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Move the finished temp file over the target, atomically if possible.
+     */
+    private static void moveIntoPlace(Path tempFile, Path target) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            } catch (AtomicMoveNotSupportedException e) {
+                LOGGER.debug("Atomic move not supported for {}, using plain replace", target);
+                break;
+            } catch (FileSystemException e) {
+                // Target is locked by a reader (Windows) - back off and retry
+                if (attempt >= MOVE_ATTEMPTS) {
+                    LOGGER.debug("Atomic move of {} failed after {} attempts, using plain replace", target, attempt, e);
+                    break;
+                }
+                sleep(MOVE_RETRY_DELAY_MS << (attempt - 1));
+            }
+        }
+
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while publishing file", e);
+        }
+    }
+}
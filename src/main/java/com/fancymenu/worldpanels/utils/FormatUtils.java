@@ -0,0 +1,148 @@
+package com.fancymenu.worldpanels.utils;
+
+import java.text.DecimalFormatSymbols;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility class for display formatting of dates, sizes and numbers.
+ *
+ * Thread-safe: dates use immutable java.time formatters, cached per locale, so the render,
+ * scan and export threads can share them (SimpleDateFormat cannot be shared). Numbers are
+ * formatted with plain string building instead of String.format, using the decimal separator
+ * of the default locale like String.format did.
+ */
+public class FormatUtils {
+
+    /**
+     * Date patterns used by the world panels.
+     */
+    public enum DatePattern {
+        DATE("MMM dd, yyyy"),
+        TIME("HH:mm"),
+        DATETIME("MMM dd, yyyy HH:mm"),
+        SHORT_DATE("MM/dd/yy");
+
+        private final String pattern;
+
+        DatePattern(String pattern) {
+            this.pattern = pattern;
+        }
+    }
+
+    private static final String[] BYTE_UNITS = {"B", "KB", "MB", "GB"};
+
+    // Per-locale formatters (indexed by DatePattern ordinal) and decimal separators
+    private static final Map<Locale, DateTimeFormatter[]> DATE_FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<Locale, Character> DECIMAL_SEPARATORS = new ConcurrentHashMap<>();
+
+    private FormatUtils() {}
+
+    /**
+     * Format a timestamp in the system time zone and default locale.
+     *
+     * @param timestamp Milliseconds since the epoch
+     */
+    public static String formatDate(long timestamp, DatePattern pattern) {
+        return getFormatter(pattern, Locale.getDefault(Locale.Category.FORMAT))
+            .format(Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()));
+    }
+
+    private static DateTimeFormatter getFormatter(DatePattern pattern, Locale locale) {
+        DateTimeFormatter[] formatters = DATE_FORMATTERS.computeIfAbsent(locale, key -> {
+            DatePattern[] patterns = DatePattern.values();
+            DateTimeFormatter[] created = new DateTimeFormatter[patterns.length];
+            for (DatePattern datePattern : patterns) {
+                created[datePattern.ordinal()] = DateTimeFormatter.ofPattern(datePattern.pattern, key);
+            }
+            return created;
+        });
+        return formatters[pattern.ordinal()];
+    }
+
+    /**
+     * Format a byte count for display (B, KB, MB, GB with one decimal), e.g. "12.5 MB".
+     */
+    public static String formatBytes(long sizeBytes) {
+        double size = sizeBytes;
+        int unitIndex = 0;
+
+        while (size >= 1024 && unitIndex < BYTE_UNITS.length - 1) {
+            size /= 1024;
+            unitIndex++;
+        }
+
+        StringBuilder result = new StringBuilder(12);
+        appendDecimal(result, size, 1);
+        return result.append(' ').append(BYTE_UNITS[unitIndex]).toString();
+    }
+
+    /**
+     * Format a number with a fixed number of decimals (0 to 6), rounding half up,
+     * like String.format("%.Nf", value) (ties are decided on the binary value).
+     */
+    public static String formatDecimal(double value, int decimals) {
+        StringBuilder result = new StringBuilder(16);
+        appendDecimal(result, value, decimals);
+        return result.toString();
+    }
+
+    /**
+     * Format an area in square kilometers, e.g. "1.25 km²".
+     */
+    public static String formatArea(double km2) {
+        StringBuilder result = new StringBuilder(12);
+        appendDecimal(result, km2, 2);
+        return result.append(" km²").toString();
+    }
+
+    /**
+     * Format a time of day as "HH:mm".
+     */
+    public static String formatClock(int hours, int minutes) {
+        char[] clock = {
+            (char) ('0' + hours / 10 % 10), (char) ('0' + hours % 10), ':',
+            (char) ('0' + minutes / 10 % 10), (char) ('0' + minutes % 10)
+        };
+        return new String(clock);
+    }
+
+    /**
+     * Append a number with a fixed number of decimals (0 to 6), rounding half up.
+     */
+    public static void appendDecimal(StringBuilder out, double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= 1e12) {
+            // Out of the fixed-point range, not expected for display values
+            out.append(String.format("%." + decimals + "f", value));
+            return;
+        }
+
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            out.append('-');
+        }
+
+        out.append(scaled / scale);
+        if (decimals > 0) {
+            out.append(getDecimalSeparator());
+            String fraction = Long.toString(scaled % scale);
+            for (int i = fraction.length(); i < decimals; i++) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+    }
+
+    private static char getDecimalSeparator() {
+        return DECIMAL_SEPARATORS.computeIfAbsent(Locale.getDefault(Locale.Category.FORMAT),
+            locale -> DecimalFormatSymbols.getInstance(locale).getDecimalSeparator());
+    }
+}
@@ -1,26 +1,35 @@
 package com.fancymenu.worldpanels.utils;
 
+import com.fancymenu.worldpanels.data.PlayerSnapshot;
 import com.fancymenu.worldpanels.data.WorldInfo;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
 import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.nbt.scanner.ExclusiveNbtCollector;
+import net.minecraft.nbt.scanner.NbtScanQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 
 /**
  * Utility class for extracting world data from NBT files.
  * 
  * Uses Minecraft's built-in NBT handling to parse level.dat files
  * and extract all relevant world information for display in world panels.
+ * 
+ * level.dat is read with a single selective scan: the Data.Player compound (inventory,
+ * ender chest, ...) is skipped while streaming unless player data was requested.
  */
 public class NBTUtils {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(NBTUtils.class);
     
+    // Same limit vanilla uses when summarizing level.dat for the world list
+    private static final long MAX_LEVEL_DAT_BYTES = 0x6400000L;
+    
     /**
      * Extract world data from level.dat file and populate the WorldInfo builder.
      * 
@@ -28,10 +37,26 @@ public class NBTUtils {
      * @param builder The WorldInfo.Builder to populate
      */
     public static void extractWorldData(File levelDat, WorldInfo.Builder builder) {
-        try (FileInputStream fis = new FileInputStream(levelDat)) {
+        extractWorldData(levelDat, builder, false);
+    }
+    
+    /**
+     * Extract world data from level.dat file and populate the WorldInfo builder.
+     * 
+     * @param levelDat The level.dat file to parse
+     * @param builder The WorldInfo.Builder to populate
+     * @param includePlayer Whether to also extract the player snapshot
+     */
+    public static void extractWorldData(File levelDat, WorldInfo.Builder builder, boolean includePlayer) {
+        try {
             
-            // Read NBT data from level.dat using Minecraft's NBT system
-            NbtCompound root = NbtIo.readCompressed(fis, NbtSizeTracker.ofUnlimitedBytes());
+            // Stream level.dat once, skipping Data.Player unless it is needed
+            ExclusiveNbtCollector collector = includePlayer
+                ? new ExclusiveNbtCollector()
+                : new ExclusiveNbtCollector(new NbtScanQuery("Data", NbtCompound.TYPE, "Player"));
+            NbtIo.scanCompressed(levelDat.toPath(), collector, NbtSizeTracker.of(MAX_LEVEL_DAT_BYTES));
+            
+            NbtCompound root = collector.getRoot() instanceof NbtCompound compound ? compound : null;
             
             if (root == null) {
                 LOGGER.warn("Failed to read NBT data from {}", levelDat.getPath());
@@ -57,9 +82,12 @@ public class NBTUtils {
             // Extract world state
             extractWorldState(dataTag, builder);
             
-            // Calculate world size
-            long worldSize = calculateWorldSize(levelDat.getParentFile());
-            builder.worldSizeBytes(worldSize);
+            // Extract player snapshot (opt-in)
+            if (includePlayer) {
+                builder.playerSnapshot(extractPlayerSnapshot(dataTag, levelDat.getParentFile()));
+            }
+            
+            // World size is calculated by WorldDataManager's single directory walk
             
             LOGGER.debug("Successfully extracted world data from {}", levelDat.getPath());
             
@@ -176,35 +204,81 @@ public class NBTUtils {
     }
     
     /**
-     * Calculate approximate world size by summing directory contents.
+     * Extract the player snapshot from Data.Player, falling back to the most recently
+     * saved playerdata file for worlds without an embedded player (LAN worlds).
      */
-    private static long calculateWorldSize(File worldDir) {
+    private static PlayerSnapshot extractPlayerSnapshot(NbtCompound dataTag, File worldFolder) {
+        if (dataTag.contains("Player", NbtElement.COMPOUND_TYPE)) {
+            return readPlayerSnapshot(dataTag.getCompound("Player"));
+        }
+        
+        File newestPlayerFile = findNewestPlayerFile(new File(worldFolder, "playerdata"));
+        if (newestPlayerFile == null) {
+            return PlayerSnapshot.EMPTY;
+        }
+        
         try {
-            return calculateDirectorySize(worldDir);
+            NbtCompound playerTag = NbtIo.readCompressed(newestPlayerFile.toPath(), NbtSizeTracker.of(MAX_LEVEL_DAT_BYTES));
+            return playerTag != null ? readPlayerSnapshot(playerTag) : PlayerSnapshot.EMPTY;
         } catch (Exception e) {
-            LOGGER.debug("Failed to calculate world size for {}", worldDir.getPath(), e);
-            return 0;
+            LOGGER.debug("Failed to read player data from {}", newestPlayerFile.getPath(), e);
+            return PlayerSnapshot.EMPTY;
         }
     }
     
     /**
-     * Recursively calculate directory size.
+     * Find the most recently modified playerdata/<uuid>.dat file, or null.
      */
-    private static long calculateDirectorySize(File directory) {
-        long size = 0;
-        File[] files = directory.listFiles();
+    private static File findNewestPlayerFile(File playerDataFolder) {
+        File[] playerFiles = playerDataFolder.listFiles((dir, name) -> name.endsWith(".dat"));
+        if (playerFiles == null) return null;
         
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    size += calculateDirectorySize(file);
-                } else {
-                    size += file.length();
-                }
+        File newest = null;
+        for (File playerFile : playerFiles) {
+            if (newest == null || playerFile.lastModified() > newest.lastModified()) {
+                newest = playerFile;
+            }
+        }
+        return newest;
+    }
+    
+    /**
+     * Read dimension, position, health, food, XP and selected item from a player compound.
+     */
+    private static PlayerSnapshot readPlayerSnapshot(NbtCompound playerTag) {
+        String dimension = playerTag.contains("Dimension", NbtElement.STRING_TYPE) ? playerTag.getString("Dimension") : null;
+        
+        double x = 0, y = 0, z = 0;
+        NbtList pos = playerTag.getList("Pos", NbtElement.DOUBLE_TYPE);
+        if (pos.size() == 3) {
+            x = pos.getDouble(0);
+            y = pos.getDouble(1);
+            z = pos.getDouble(2);
+        }
+        
+        // Selected hotbar item
+        String selectedItem = null;
+        int selectedItemCount = 0;
+        int selectedSlot = playerTag.getInt("SelectedItemSlot");
+        NbtList inventory = playerTag.getList("Inventory", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < inventory.size(); i++) {
+            NbtCompound stack = inventory.getCompound(i);
+            if (stack.getByte("Slot") == selectedSlot) {
+                selectedItem = stack.getString("id");
+                // "count" since 1.20.5, "Count" before
+                selectedItemCount = stack.contains("count") ? stack.getInt("count") : stack.getByte("Count");
+                break;
             }
         }
         
-        return size;
+        return new PlayerSnapshot(
+            dimension, x, y, z,
+            playerTag.getFloat("Health"),
+            playerTag.getInt("foodLevel"),
+            playerTag.getInt("XpLevel"),
+            selectedItem != null && !selectedItem.isEmpty() ? selectedItem : null,
+            selectedItemCount
+        );
     }
     
     /**
@@ -0,0 +1,100 @@
+package com.fancymenu.worldpanels.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for reading Anvil region file (.mca) headers.
+ *
+ * A region file starts with two 4 KiB tables for its 32x32 chunks: the location table
+ * (3 byte sector offset + 1 byte sector count per chunk, 0 = not generated) and the
+ * timestamp table (last save time in epoch seconds per chunk). Only these 8 KiB are read,
+ * using positional FileChannel reads - chunk data is never touched or decompressed.
+ */
+public class RegionFileUtils {
+
+    public static final int CHUNKS_PER_REGION = 32 * 32;
+    public static final int HEADER_BYTES = 2 * CHUNKS_PER_REGION * 4;
+
+    private static final int TIMESTAMP_TABLE_OFFSET = CHUNKS_PER_REGION * 4;
+
+    // One reusable header buffer per reader thread
+    private static final ThreadLocal<ByteBuffer> HEADER_BUFFER =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(HEADER_BYTES));
+
+    /**
+     * Summary of a single region file header.
+     */
+    public static final class HeaderSummary {
+        public static final HeaderSummary EMPTY = new HeaderSummary(0, 0);
+
+        private final int chunkCount;
+        private final long newestTimestamp;
+
+        public HeaderSummary(int chunkCount, long newestTimestamp) {
+            this.chunkCount = chunkCount;
+            this.newestTimestamp = newestTimestamp;
+        }
+
+        public int getChunkCount() { return chunkCount; }
+
+        /**
+         * Most recent chunk save time in Unix epoch milliseconds, 0 if no chunk is present.
+         */
+        public long getNewestTimestamp() { return newestTimestamp; }
+    }
+
+    /**
+     * Read the location and timestamp tables of a region file.
+     *
+     * @param regionFile The .mca file to summarize
+     * @return The header summary; {@link HeaderSummary#EMPTY} for files without a complete header
+     */
+    public static HeaderSummary readHeader(Path regionFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(regionFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                // Freshly created or truncated region file - no chunks yet
+                return HeaderSummary.EMPTY;
+            }
+
+            ByteBuffer header = HEADER_BUFFER.get();
+            header.clear();
+
+            long position = 0;
+            while (header.hasRemaining()) {
+                int read = channel.read(header, position);
+                if (read < 0) {
+                    return HeaderSummary.EMPTY;
+                }
+                position += read;
+            }
+            header.flip();
+
+            return summarize(header);
+        }
+    }
+
+    /**
+     * Count generated chunks and find the newest chunk timestamp in a header buffer.
+     */
+    private static HeaderSummary summarize(ByteBuffer header) {
+        int chunkCount = 0;
+        long newestSeconds = 0;
+
+        for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+            int location = header.getInt(i * 4);
+            if (location == 0) continue;
+
+            chunkCount++;
+            long timestamp = header.getInt(TIMESTAMP_TABLE_OFFSET + i * 4) & 0xFFFFFFFFL;
+            if (timestamp > newestSeconds) {
+                newestSeconds = timestamp;
+            }
+        }
+
+        return chunkCount == 0 ? HeaderSummary.EMPTY : new HeaderSummary(chunkCount, newestSeconds * 1000L);
+    }
+}